@@ -0,0 +1,28 @@
+package com.orderhub.cache;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.orderhub.dto.product.response.ProductResponse;
+import com.orderhub.util.ETags;
+
+/* A product as cached by id: the response body together with the updated_at its ETag is built from */
+public record CachedProduct(
+
+    UUID id,
+    String name,
+    String description,
+    BigDecimal price,
+    Instant updatedAt
+
+) {
+
+    public ProductResponse toResponse() {
+        return new ProductResponse(id, name, description, price);
+    }
+
+    public String etag() {
+        return ETags.of(id, updatedAt);
+    }
+}
@@ -0,0 +1,172 @@
+package com.orderhub.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Whole-response cache for anonymous catalog listings. The first request for a query runs
+ * the controller as usual; its body is kept gzip-compressed and later requests get those bytes
+ * written straight to the socket, with no query, mapping or JSON serialization. Entries are
+ * keyed by the catalog version, which any product change on any instance bumps, so stale pages
+ * are never served again and simply age out.
+ *
+ * Runs after Spring Security, so only requests it let through as anonymous are considered, and
+ * only 200 responses the controller marked {@code Cache-Control: public} are stored.
+ */
+@Component
+public class CatalogResponseCache extends OncePerRequestFilter {
+
+    static final String PATH = "/api/products";
+
+    /* Longer query strings are served but not cached, so a crawler cannot fill the cache with junk keys */
+    private static final int MAX_QUERY_LENGTH = 512;
+
+    private final Cache<Key, Entry> responses;
+    private final InvalidationBus invalidationBus;
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private record Key(long catalogVersion, String query) {}
+
+    private record Entry(byte[] gzip, String contentType, String cacheControl) {}
+
+    public CatalogResponseCache(
+        InvalidationBus invalidationBus,
+        MeterRegistry meterRegistry,
+        @Value("${catalog.response-cache.maximum-bytes:16777216}") long maximumBytes,
+        @Value("${catalog.response-cache.ttl:PT60S}") Duration ttl
+    ) {
+        this.invalidationBus = invalidationBus;
+        Cache<Key, Entry> cache = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((Key key, Entry entry) -> entry.gzip().length)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.responses = CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog.responses");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        invalidationBus.subscribe(productId -> catalogVersion.incrementAndGet());
+        invalidationBus.subscribeCatalogChanged(catalogVersion::incrementAndGet);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+            || !PATH.equals(request.getRequestURI())
+            || (request.getQueryString() != null && request.getQueryString().length() > MAX_QUERY_LENGTH)
+            || !isAnonymous(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+
+        /* Read before loading: a change committed meanwhile bumps the version and orphans this entry */
+        Key key = new Key(catalogVersion.get(), normalize(request.getParameterMap()));
+
+        Entry cached = responses.getIfPresent(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        String cacheControl = wrapper.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (wrapper.getStatus() == HttpStatus.OK.value() && cacheControl != null && cacheControl.contains("public")) {
+            responses.put(key, new Entry(gzip(wrapper.getContentAsByteArray()), wrapper.getContentType(), cacheControl));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void write(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType() != null ? entry.contentType() : MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, entry.cacheControl());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(entry.gzip().length);
+            response.getOutputStream().write(entry.gzip());
+            return;
+        }
+
+        /* Still no query or serialization; only the inflate is paid for clients without gzip */
+        try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(entry.gzip()))) {
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    /* Sorted by name, values kept in request order (it matters for repeated sort params) and re-encoded */
+    static String normalize(Map<String, String[]> parameters) {
+        return new TreeMap<>(parameters).entrySet().stream()
+            .flatMap(parameter -> Arrays.stream(parameter.getValue())
+                .map(value -> encode(parameter.getKey()) + "=" + encode(value.strip())))
+            .collect(Collectors.joining("&"));
+    }
+
+    private static String encode(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.strip().split(";");
+            if (!parts[0].strip().equalsIgnoreCase("gzip")) continue;
+            return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    private static boolean isAnonymous(Authentication authentication) {
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+}
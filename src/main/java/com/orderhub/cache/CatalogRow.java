@@ -0,0 +1,34 @@
+package com.orderhub.cache;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.orderhub.dto.product.response.ProductResponse;
+import com.orderhub.enums.ProductStatus;
+
+/* One product as stored in the catalog snapshot file */
+public record CatalogRow(
+
+    UUID id,
+    String name,
+    String description,
+    BigDecimal price,
+    int stock,
+    ProductStatus status,
+    Instant updatedAt
+
+) {
+
+    public ProductResponse toResponse() {
+        return new ProductResponse(id, name, description, price);
+    }
+
+    public CachedProduct toCached() {
+        return new CachedProduct(id, name, description, price, updatedAt);
+    }
+
+    public ProductSnapshot toSnapshot() {
+        return new ProductSnapshot(id, name, price, status, updatedAt);
+    }
+}
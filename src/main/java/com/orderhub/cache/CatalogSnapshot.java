@@ -0,0 +1,138 @@
+package com.orderhub.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.repository.ProductRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cold-start source for catalog reads. At startup the last {@link CatalogSnapshotFile} is
+ * mapped off-heap and every product changed since its watermark (minus {@code deltaOverlap},
+ * for clock skew and transactions that committed late) is marked dirty, as is every product
+ * changed afterwards on any instance. Clean rows are served from the mapping; dirty ones go
+ * to the database. A new file is written periodically for the next start; the running
+ * instance keeps its current mapping.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot {
+
+    private final ProductRepository productRepository;
+    private final InvalidationBus invalidationBus;
+    private final Path path;
+    private final Duration deltaOverlap;
+
+    private volatile CatalogSnapshotFile file;
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    public CatalogSnapshot(
+        ProductRepository productRepository,
+        InvalidationBus invalidationBus,
+        @Value("${catalog.snapshot.path:}") String path,
+        @Value("${catalog.snapshot.delta-overlap:PT2M}") Duration deltaOverlap
+    ) {
+        this.productRepository = productRepository;
+        this.invalidationBus = invalidationBus;
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.deltaOverlap = deltaOverlap;
+    }
+
+    @PostConstruct
+    void load() {
+        if (path == null || !Files.exists(path)) return;
+
+        /* Subscribe first so no change falls between the delta query and the first broadcast */
+        invalidationBus.subscribe(dirty::add);
+        invalidationBus.subscribeCatalogChanged(this::discard);
+
+        try {
+            CatalogSnapshotFile opened = CatalogSnapshotFile.open(path);
+            dirty.addAll(productRepository.findIdsUpdatedSince(opened.watermark().minus(deltaOverlap)));
+            file = opened;
+            log.info("Catalog snapshot mapped: {} products as of {}, {} changed since", opened.size(), opened.watermark(), dirty.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring catalog snapshot {}", path, e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return file != null;
+    }
+
+    /* Empty when there is no snapshot, the product is not in it or it changed since */
+    public Optional<CatalogRow> find(UUID id) {
+        CatalogSnapshotFile current = file;
+        if (current == null || dirty.contains(id)) return Optional.empty();
+        return current.find(id);
+    }
+
+    @Scheduled(
+        initialDelayString = "${catalog.snapshot.write-ms:600000}",
+        fixedDelayString = "${catalog.snapshot.write-ms:600000}"
+    )
+    @Transactional
+    public void write() {
+        if (path == null) return;
+
+        /* Taken before reading so rows committed during the scan fall inside the next delta */
+        Instant watermark = Instant.now();
+        try (CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(path, watermark);
+             Stream<CatalogRow> rows = productRepository.streamCatalog(ProductStatus.active)) {
+
+            rows.forEach(row -> {
+                try {
+                    writer.add(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long written = writer.commit();
+            log.info("Catalog snapshot written: {} products as of {}", written, watermark);
+
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not write catalog snapshot {}", path, e);
+        }
+    }
+
+    /* After a bulk change nobody can tell which rows are stale, so stop using the mapping */
+    private void discard() {
+        CatalogSnapshotFile current = file;
+        file = null;
+        dirty.clear();
+        if (current == null) return;
+
+        /* The mapping outlives its channel, so readers still holding the old file are safe */
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("Could not close catalog snapshot {}", path, e);
+        }
+        log.info("Catalog snapshot discarded after a catalog-wide change");
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        CatalogSnapshotFile current = file;
+        if (current != null) current.close();
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.orderhub.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.util.Money;
+
+/**
+ * Binary, memory-mappable copy of the catalog. Layout (big-endian):
+ *
+ * <pre>
+ * header  32 bytes: magic, format version, watermark (epoch micros), row count, reserved
+ * rows    56 bytes each, sorted by id as Postgres sorts uuid (unsigned, byte by byte):
+ *         id high, id low, updated_at micros, price in cents, stock, status ordinal,
+ *         3 bytes padding, text offset, name length, description length (-1 for null)
+ * text    UTF-8 names and descriptions, referenced by the rows
+ * </pre>
+ *
+ * Lookups are a binary search over the fixed-size rows straight in the mapping; only the
+ * row that is found gets decoded onto the heap.
+ */
+public final class CatalogSnapshotFile implements Closeable {
+
+    static final int MAGIC = 0x4F484353; /* "OHCS" */
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int ROW_BYTES = 56;
+
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Instant watermark;
+    private final long count;
+    private final long textStart;
+
+    private CatalogSnapshotFile(FileChannel channel, MappedByteBuffer buffer, Instant watermark, long count) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.watermark = watermark;
+        this.count = count;
+        this.textStart = HEADER_BYTES + count * ROW_BYTES;
+    }
+
+    /* Maps the file read-only; throws if it is not a complete snapshot of this format */
+    public static CatalogSnapshotFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Unsupported catalog snapshot size: " + size);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not a catalog snapshot of format " + FORMAT_VERSION + ": " + path);
+            }
+
+            long count = buffer.getLong(16);
+            if (count < 0 || HEADER_BYTES + count * ROW_BYTES > size) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+
+            return new CatalogSnapshotFile(channel, buffer, fromMicros(buffer.getLong(8)), count);
+
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Instant watermark() {
+        return watermark;
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public Optional<CatalogRow> find(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+
+        long lo = 0;
+        long hi = count - 1;
+        while (lo <= hi) {
+            long mid = (lo + hi) >>> 1;
+            int at = (int) (HEADER_BYTES + mid * ROW_BYTES);
+
+            int cmp = Long.compareUnsigned(buffer.getLong(at), high);
+            if (cmp == 0) cmp = Long.compareUnsigned(buffer.getLong(at + 8), low);
+
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return Optional.of(read(at, id));
+        }
+        return Optional.empty();
+    }
+
+    private CatalogRow read(int at, UUID id) {
+        Instant updatedAt = fromMicros(buffer.getLong(at + 16));
+        long priceCents = buffer.getLong(at + 24);
+        int stock = buffer.getInt(at + 32);
+        ProductStatus status = STATUSES[buffer.get(at + 36)];
+        int text = (int) (textStart + buffer.getLong(at + 40));
+        int nameLength = buffer.getInt(at + 48);
+        int descriptionLength = buffer.getInt(at + 52);
+
+        String name = text(text, nameLength);
+        String description = descriptionLength < 0 ? null : text(text + nameLength, descriptionLength);
+
+        return new CatalogRow(id, name, description, new Money(priceCents).toBigDecimal(), stock, status, updatedAt);
+    }
+
+    private String text(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * Streams rows, which must arrive sorted by id, into two temporary files (rows and text) so
+     * memory stays flat, then assembles the snapshot next to {@code target} and moves it into
+     * place atomically. Readers that already mapped the previous file keep their mapping.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Instant watermark;
+        private final Path rowsFile;
+        private final Path textFile;
+        private final DataOutputStream rows;
+        private final DataOutputStream text;
+
+        private long count;
+        private long textOffset;
+        private UUID last;
+
+        public Writer(Path target, Instant watermark) throws IOException {
+            this.target = target;
+            this.watermark = watermark;
+
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            this.rowsFile = Files.createTempFile(directory, "catalog-rows", ".tmp");
+            this.textFile = Files.createTempFile(directory, "catalog-text", ".tmp");
+            this.rows = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(rowsFile), 1 << 16));
+            this.text = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(textFile), 1 << 16));
+        }
+
+        public void add(CatalogRow row) throws IOException {
+            if (last != null && compareUnsigned(last, row.id()) >= 0) {
+                throw new IllegalArgumentException("Catalog rows must be sorted by id, got " + row.id() + " after " + last);
+            }
+            last = row.id();
+
+            byte[] name = row.name().getBytes(StandardCharsets.UTF_8);
+            byte[] description = row.description() == null ? null : row.description().getBytes(StandardCharsets.UTF_8);
+
+            rows.writeLong(row.id().getMostSignificantBits());
+            rows.writeLong(row.id().getLeastSignificantBits());
+            rows.writeLong(toMicros(row.updatedAt()));
+            rows.writeLong(Money.of(row.price()).minorUnits());
+            rows.writeInt(row.stock());
+            rows.writeByte(row.status().ordinal());
+            rows.write(new byte[3]);
+            rows.writeLong(textOffset);
+            rows.writeInt(name.length);
+            rows.writeInt(description == null ? -1 : description.length);
+
+            text.write(name);
+            textOffset += name.length;
+            if (description != null) {
+                text.write(description);
+                textOffset += description.length;
+            }
+            count++;
+        }
+
+        /* Returns the number of rows written */
+        public long commit() throws IOException {
+            rows.close();
+            text.close();
+
+            Path assembled = Files.createTempFile(target.toAbsolutePath().getParent(), "catalog", ".tmp");
+            try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(toMicros(watermark))
+                    .putLong(count)
+                    .putLong(0)
+                    .flip();
+                while (header.hasRemaining()) out.write(header);
+
+                append(out, rowsFile);
+                append(out, textFile);
+                out.force(true);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(assembled);
+                throw e;
+            }
+
+            Files.move(assembled, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        }
+
+        private static void append(FileChannel out, Path part) throws IOException {
+            try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                long position = 0;
+                long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+            text.close();
+            Files.deleteIfExists(rowsFile);
+            Files.deleteIfExists(textFile);
+        }
+
+        private static int compareUnsigned(UUID a, UUID b) {
+            int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+            return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+        }
+    }
+
+}
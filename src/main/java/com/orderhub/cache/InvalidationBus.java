@@ -0,0 +1,18 @@
+package com.orderhub.cache;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/* Broadcasts "this product changed" to every instance, including the sender */
+public interface InvalidationBus {
+
+    void publish(UUID productId);
+
+    void subscribe(Consumer<UUID> listener);
+
+    /* "Too many products changed to name them": listeners drop or rebuild whole structures */
+    void publishCatalogChanged();
+
+    void subscribeCatalogChanged(Runnable listener);
+
+}
@@ -0,0 +1,118 @@
+package com.orderhub.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.dto.common.response.PageResponse;
+import com.orderhub.dto.product.response.ProductResponse;
+import com.orderhub.enums.CountMode;
+import com.orderhub.event.ProductChangedEvent;
+import com.orderhub.event.ProductsImportedEvent;
+import com.orderhub.repository.ProductFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cache for the public catalog reads, built on {@link TwoLevelCache}: products by id use
+ * Caffeine then Redis; the first few list pages stay in-process. A product entry carries its
+ * {@code updated_at}, so the ETag and the body always come from the same version. All of them
+ * coalesce concurrent misses and refresh hot entries early. A product change clears the Redis
+ * entry and is broadcast on the {@link InvalidationBus}, so every instance drops its local
+ * copies right after the commit.
+ */
+@Component
+public class ProductCache {
+
+    private final TwoLevelCache<UUID, CachedProduct> byId;
+    private final TwoLevelCache<PageKey, PageResponse<ProductResponse>> pages;
+
+    private final int cachedPages;
+    private final InvalidationBus invalidationBus;
+
+    private record PageKey(ProductFilter filter, int page, int size, String sort, CountMode countMode) {}
+
+    public ProductCache(
+        MeterRegistry meterRegistry,
+        RemoteCacheStore remoteCacheStore,
+        InvalidationBus invalidationBus,
+        ObjectMapper objectMapper,
+        @Value("${catalog.cache.maximum-size:10000}") long maximumSize,
+        @Value("${catalog.cache.ttl:PT60S}") Duration ttl,
+        @Value("${catalog.cache.remote-ttl:PT10M}") Duration remoteTtl,
+        @Value("${catalog.cache.cached-pages:5}") int cachedPages,
+        @Value("${catalog.cache.early-refresh-beta:1.0}") double earlyRefreshBeta
+    ) {
+        /* v2: Redis entries written before updatedAt was cached would read back without it */
+        this.byId = new TwoLevelCache<>("products.byId.v2", CachedProduct.class,
+            maximumSize, ttl, remoteTtl, earlyRefreshBeta, remoteCacheStore, objectMapper, meterRegistry);
+        this.pages = new TwoLevelCache<>("products.pages", null,
+            cachedPages * 64L, ttl, null, earlyRefreshBeta, null, objectMapper, meterRegistry);
+        this.cachedPages = cachedPages;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        invalidationBus.subscribe(this::evictLocal);
+        invalidationBus.subscribeCatalogChanged(pages::evictAllLocal);
+    }
+
+    /* Loader exceptions (e.g. PRODUCT_NOT_FOUND) propagate and nothing is cached */
+    public CachedProduct byId(UUID id, Function<UUID, CachedProduct> loader) {
+        return byId.get(id, loader);
+    }
+
+    /* Multi-get for batch lookups: L1, then one L2 round trip, then one query for the rest */
+    public Map<UUID, CachedProduct> byIds(Collection<UUID> ids, Function<Set<UUID>, Map<UUID, CachedProduct>> loader) {
+        return byId.getAll(ids, loader);
+    }
+
+    public PageResponse<ProductResponse> page(ProductFilter filter, Pageable pageable, CountMode countMode, Supplier<PageResponse<ProductResponse>> loader) {
+        if (pageable.getPageNumber() >= cachedPages) {
+            return loader.get();
+        }
+
+        PageKey key = new PageKey(filter, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString(), countMode);
+        return pages.get(key, k -> loader.get());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        /* Redis first: a node reacting to the broadcast must not refill its L1 from a stale L2 */
+        byId.evict(event.productId());
+        evictLocal(event.productId());
+        invalidationBus.publish(event.productId());
+    }
+
+    /* New ids are not cached anywhere yet; only the listing pages can be missing them */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        invalidationBus.publishCatalogChanged();
+    }
+
+    public void evictLocal(UUID productId) {
+        byId.evictLocal(productId);
+        pages.evictAllLocal();
+    }
+
+    @PreDestroy
+    void close() {
+        byId.close();
+        pages.close();
+    }
+
+}
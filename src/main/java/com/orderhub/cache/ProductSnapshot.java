@@ -0,0 +1,18 @@
+package com.orderhub.cache;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.orderhub.enums.ProductStatus;
+
+/* What pricing needs from a product; updatedAt is the row version checked before an order is written */
+public record ProductSnapshot(
+
+    UUID id,
+    String name,
+    BigDecimal price,
+    ProductStatus status,
+    Instant updatedAt
+
+) {}
@@ -0,0 +1,121 @@
+package com.orderhub.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.event.ProductChangedEvent;
+import com.orderhub.repository.ProductRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory price and availability snapshot of the catalog, used to price orders without
+ * loading Product entities. Entries are versioned by updated_at: {@link #current} checks the
+ * versions against the database inside the caller's transaction and reloads only the stale
+ * ones. Changes arrive over the {@link InvalidationBus} so other instances drop their copy early.
+ * When a {@link CatalogSnapshot} file is mapped, nothing is preloaded: misses whose version
+ * matches the file are taken from it, so the heap only holds what orders actually touch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSnapshotCache {
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final ProductRepository productRepository;
+    private final InvalidationBus invalidationBus;
+    private final CatalogSnapshot catalogSnapshot;
+
+    private final Map<UUID, ProductSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        invalidationBus.subscribe(this::evict);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (catalogSnapshot.isLoaded()) return;
+
+        putAll(productRepository.findSnapshotsByStatus(ProductStatus.active));
+        log.info("Product snapshot cache loaded with {} active products", snapshots.size());
+    }
+
+    /**
+     * Current snapshots for the given ids, keyed by id. Ids that do not exist are absent from
+     * the result. Must run inside the transaction that writes the order: one version query per
+     * chunk of ids, plus one snapshot query only when something was missing or stale.
+     */
+    public Map<UUID, ProductSnapshot> current(Collection<UUID> productIds) {
+
+        List<UUID> ids = productIds.stream().distinct().toList();
+        Map<UUID, ProductSnapshot> result = new HashMap<>(ids.size() * 2);
+        List<UUID> stale = new ArrayList<>();
+
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK, ids.size()));
+
+            for (ProductVersion version : productRepository.findVersionsByIdIn(chunk)) {
+                ProductSnapshot cached = snapshots.get(version.id());
+                if (cached == null || !cached.updatedAt().equals(version.updatedAt())) {
+                    cached = catalogSnapshot.find(version.id())
+                        .filter(row -> row.updatedAt().equals(version.updatedAt()))
+                        .map(CatalogRow::toSnapshot)
+                        .orElse(null);
+                    if (cached != null) putAll(List.of(cached));
+                }
+
+                if (cached != null) {
+                    result.put(version.id(), cached);
+                } else {
+                    stale.add(version.id());
+                }
+            }
+        }
+
+        for (int from = 0; from < stale.size(); from += LOOKUP_CHUNK) {
+            List<ProductSnapshot> fresh = productRepository.findSnapshotsByIdIn(
+                stale.subList(from, Math.min(from + LOOKUP_CHUNK, stale.size())));
+            putAll(fresh);
+            fresh.forEach(snapshot -> result.put(snapshot.id(), snapshot));
+        }
+
+        return result;
+    }
+
+    public void putAll(Collection<ProductSnapshot> fresh) {
+        /* Never let a slow loader overwrite a newer version */
+        fresh.forEach(snapshot -> snapshots.merge(snapshot.id(), snapshot,
+            (old, candidate) -> candidate.updatedAt().isBefore(old.updatedAt()) ? old : candidate));
+    }
+
+    public void evict(UUID productId) {
+        snapshots.remove(productId);
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /* Local eviction only; ProductCache broadcasts the change to the other instances */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.productId());
+    }
+
+}
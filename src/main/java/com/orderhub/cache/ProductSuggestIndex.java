@@ -0,0 +1,288 @@
+package com.orderhub.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.repository.ProductRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process autocomplete over active product names. The bulk of the catalog lives in an
+ * immutable array sorted by lower-cased name, so a prefix is a binary-searched range, and a
+ * segment tree over popularity (units sold) yields the top entries of any range without
+ * scanning it. Changes go to a small overlay that is folded into a new array once it grows
+ * past {@code compactThreshold}; a full rebuild from the database refreshes popularity
+ * periodically.
+ */
+@Slf4j
+@Component
+public class ProductSuggestIndex {
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+        .comparingLong(Suggestion::popularity).reversed()
+        .thenComparing(Suggestion::key);
+
+    private final ProductRepository productRepository;
+    private final InvalidationBus invalidationBus;
+    private final int maxResults;
+    private final int compactThreshold;
+
+    private volatile Snapshot snapshot;
+    /* Products changed since the snapshot was built; an inactive entry hides the product */
+    private final Map<UUID, Suggestion> overlay = new ConcurrentHashMap<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public record Suggestion(UUID id, String name, String key, long popularity, boolean active) {
+
+        static Suggestion of(ProductSuggestion row) {
+            return new Suggestion(row.id(), row.name(), normalize(row.name()), row.popularity(), true);
+        }
+
+        static Suggestion removed(UUID id) {
+            return new Suggestion(id, null, null, 0, false);
+        }
+    }
+
+    public ProductSuggestIndex(
+        ProductRepository productRepository,
+        InvalidationBus invalidationBus,
+        @Value("${catalog.suggest.max-results:10}") int maxResults,
+        @Value("${catalog.suggest.compact-threshold:1024}") int compactThreshold
+    ) {
+        this.productRepository = productRepository;
+        this.invalidationBus = invalidationBus;
+        this.maxResults = maxResults;
+        this.compactThreshold = compactThreshold;
+        this.snapshot = Snapshot.build(List.of());
+    }
+
+    /* The bus delivers to the sender too, so local changes arrive the same way */
+    @PostConstruct
+    void subscribe() {
+        invalidationBus.subscribe(this::refresh);
+        invalidationBus.subscribeCatalogChanged(this::rebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${catalog.suggest.rebuild-ms:600000}",
+        fixedDelayString = "${catalog.suggest.rebuild-ms:600000}"
+    )
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            Map<UUID, Suggestion> applied = Map.copyOf(overlay);
+            List<Suggestion> entries = productRepository.findSuggestionsByStatus(ProductStatus.active).stream()
+                .map(Suggestion::of)
+                .toList();
+
+            swap(entries, applied);
+            log.info("Product suggest index built with {} names", entries.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /* Best matches for the prefix, most popular first; at most maxResults */
+    public List<Suggestion> suggest(String prefix, int limit) {
+
+        String key = normalize(prefix);
+        int wanted = Math.min(limit, maxResults);
+        if (key.isEmpty() || wanted <= 0) return List.of();
+
+        Snapshot current = snapshot;
+        List<Suggestion> result = new ArrayList<>(wanted * 2);
+
+        /*
+         * Best-first walk of the prefix range: take the range's most popular entry, split the
+         * range around it and repeat. Each step is O(log n) however many names share the prefix.
+         */
+        int[] range = current.range(key);
+        if (range[0] < range[1]) {
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                Comparator.<int[]>comparingLong(r -> -current.popularity()[r[2]]).thenComparingInt(r -> r[2]));
+            ranges.add(new int[] {range[0], range[1], current.best(range[0], range[1])});
+
+            int accepted = 0;
+            while (accepted < wanted && !ranges.isEmpty()) {
+                int[] next = ranges.poll();
+                int at = next[2];
+                Suggestion candidate = current.get(at);
+                /* The overlay holds the current version of this product */
+                if (!overlay.containsKey(candidate.id())) {
+                    result.add(candidate);
+                    accepted++;
+                }
+                if (next[0] < at) ranges.add(new int[] {next[0], at, current.best(next[0], at)});
+                if (at + 1 < next[1]) ranges.add(new int[] {at + 1, next[1], current.best(at + 1, next[1])});
+            }
+        }
+
+        for (Suggestion changed : overlay.values()) {
+            if (changed.active() && changed.key().startsWith(key)) {
+                result.add(changed);
+            }
+        }
+
+        result.sort(RANKING);
+        return result.size() > wanted ? List.copyOf(result.subList(0, wanted)) : result;
+    }
+
+    /* Re-reads one product after a change on any instance */
+    public void refresh(UUID productId) {
+        Suggestion changed = productRepository.findSuggestionByIdAndStatus(productId, ProductStatus.active)
+            .map(Suggestion::of)
+            .orElseGet(() -> Suggestion.removed(productId));
+
+        overlay.put(productId, changed);
+        if (overlay.size() >= compactThreshold) {
+            compact();
+        }
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /* Folds the overlay into a new snapshot without touching the database; a running rebuild absorbs it instead */
+    void compact() {
+        if (!rebuildLock.tryLock()) return;
+        try {
+            Map<UUID, Suggestion> applied = Map.copyOf(overlay);
+            Snapshot current = snapshot;
+
+            List<Suggestion> entries = new ArrayList<>(current.size() + applied.size());
+            for (int i = 0; i < current.size(); i++) {
+                Suggestion entry = current.get(i);
+                if (!applied.containsKey(entry.id())) entries.add(entry);
+            }
+            applied.values().stream().filter(Suggestion::active).forEach(entries::add);
+
+            swap(entries, applied);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void swap(List<Suggestion> entries, Map<UUID, Suggestion> applied) {
+        snapshot = Snapshot.build(entries);
+        /* Only what the new snapshot already reflects; changes that raced the build stay */
+        applied.forEach(overlay::remove);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parallel arrays sorted by key, plus a max segment tree over popularity. Ids are kept as
+     * two longs and the display name is the key instance itself when it is already lower case,
+     * to keep the per-product footprint small (the tree adds two ints per product).
+     */
+    record Snapshot(
+        String[] keys,
+        String[] names,
+        long[] idHigh,
+        long[] idLow,
+        long[] popularity,
+        int[] tree
+    ) {
+
+        static Snapshot build(List<Suggestion> entries) {
+
+            Suggestion[] sorted = entries.toArray(Suggestion[]::new);
+            Arrays.sort(sorted, Comparator.comparing(Suggestion::key).thenComparing(Suggestion::id));
+
+            int n = sorted.length;
+            String[] keys = new String[n];
+            String[] names = new String[n];
+            long[] idHigh = new long[n];
+            long[] idLow = new long[n];
+            long[] popularity = new long[n];
+
+            for (int i = 0; i < n; i++) {
+                Suggestion entry = sorted[i];
+                keys[i] = entry.key();
+                names[i] = entry.name().equals(entry.key()) ? entry.key() : entry.name();
+                idHigh[i] = entry.id().getMostSignificantBits();
+                idLow[i] = entry.id().getLeastSignificantBits();
+                popularity[i] = entry.popularity();
+            }
+
+            /* Bottom-up tree: leaves at [n, 2n), each inner node holds the index of its most popular leaf */
+            int[] tree = new int[2 * n];
+            for (int i = 0; i < n; i++) tree[n + i] = i;
+            for (int node = n - 1; node > 0; node--) {
+                tree[node] = better(popularity, tree[2 * node], tree[2 * node + 1]);
+            }
+
+            return new Snapshot(keys, names, idHigh, idLow, popularity, tree);
+        }
+
+        /* More popular wins; on a tie the earlier name, matching the ranking order */
+        private static int better(long[] popularity, int a, int b) {
+            if (popularity[a] != popularity[b]) return popularity[a] > popularity[b] ? a : b;
+            return Math.min(a, b);
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        Suggestion get(int i) {
+            return new Suggestion(new UUID(idHigh[i], idLow[i]), names[i], keys[i], popularity[i], true);
+        }
+
+        /* Index of the most popular entry in [from, to), which must not be empty */
+        int best(int from, int to) {
+            int n = keys.length;
+            int result = from;
+            for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) result = better(popularity, result, tree[l++]);
+                if ((r & 1) == 1) result = better(popularity, result, tree[--r]);
+            }
+            return result;
+        }
+
+        /* [from, to) of the keys starting with the prefix */
+        int[] range(String prefix) {
+            int from = lowerBound(prefix);
+            /* No name contains U+FFFF, so this sorts after every key with the prefix */
+            int to = lowerBound(prefix + '\uffff');
+            return new int[] {from, to};
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+}
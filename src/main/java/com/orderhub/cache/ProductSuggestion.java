@@ -0,0 +1,12 @@
+package com.orderhub.cache;
+
+import java.util.UUID;
+
+/* Autocomplete row: popularity is the number of units ever ordered */
+public record ProductSuggestion(
+
+    UUID id,
+    String name,
+    long popularity
+
+) {}
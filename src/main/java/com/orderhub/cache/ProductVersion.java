@@ -0,0 +1,11 @@
+package com.orderhub.cache;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ProductVersion(
+
+    UUID id,
+    Instant updatedAt
+
+) {}
@@ -0,0 +1,86 @@
+package com.orderhub.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisInvalidationBus implements InvalidationBus, MessageListener {
+
+    public static final String CHANNEL = "catalog:product-invalidations";
+    private static final String CATALOG_CHANGED = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> catalogListeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    void register() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public void publish(UUID productId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, productId.toString());
+        } catch (RuntimeException e) {
+            /* Remote L1 copies then live until their TTL; snapshots still go through the version check */
+            log.warn("Could not broadcast invalidation of product {}", productId, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void publishCatalogChanged() {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, CATALOG_CHANGED);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast a catalog-wide invalidation", e);
+        }
+    }
+
+    @Override
+    public void subscribeCatalogChanged(Runnable listener) {
+        catalogListeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (CATALOG_CHANGED.equals(body)) {
+            catalogListeners.forEach(Runnable::run);
+            return;
+        }
+
+        UUID productId;
+        try {
+            productId = UUID.fromString(body);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed product invalidation message");
+            return;
+        }
+        listeners.forEach(listener -> listener.accept(productId));
+    }
+
+}
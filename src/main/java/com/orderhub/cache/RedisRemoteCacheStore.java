@@ -0,0 +1,76 @@
+package com.orderhub.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class RedisRemoteCacheStore implements RemoteCacheStore {
+
+    /* Absent keys compare as '', which no stored value is */
+    private static final RedisScript<Long> COMPARE_AND_SET = RedisScript.of("""
+        if (redis.call('GET', KEYS[1]) or '') ~= ARGV[1] then
+            return 0
+        end
+        redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+        return 1
+        """, Long.class);
+
+    /* ARGV: ttl, then expected and value for each key in order */
+    private static final RedisScript<Long> COMPARE_AND_SET_ALL = RedisScript.of("""
+        local written = 0
+        for i, key in ipairs(KEYS) do
+            if (redis.call('GET', key) or '') == ARGV[2 * i] then
+                redis.call('SET', key, ARGV[2 * i + 1], 'PX', ARGV[1])
+                written = written + 1
+            end
+        end
+        return written
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public String get(String key) {
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value, Duration ttl) {
+        Long written = redisTemplate.execute(COMPARE_AND_SET, List.of(key),
+            expected == null ? "" : expected, value, String.valueOf(ttl.toMillis()));
+        return written != null && written == 1;
+    }
+
+    @Override
+    public List<String> multiGet(List<String> keys) {
+        return redisTemplate.opsForValue().multiGet(keys);
+    }
+
+    @Override
+    public void compareAndSetAll(Map<String, String> expected, Map<String, String> values, Duration ttl) {
+        List<String> keys = new ArrayList<>(values.keySet());
+        Object[] args = new Object[1 + 2 * keys.size()];
+        args[0] = String.valueOf(ttl.toMillis());
+        for (int i = 0; i < keys.size(); i++) {
+            String current = expected.get(keys.get(i));
+            args[1 + 2 * i] = current == null ? "" : current;
+            args[2 + 2 * i] = values.get(keys.get(i));
+        }
+        redisTemplate.execute(COMPARE_AND_SET_ALL, keys, args);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.orderhub.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/* Shared second cache tier; implementations may throw, callers treat failures as misses */
+public interface RemoteCacheStore {
+
+    String get(String key);
+
+    void set(String key, String value, Duration ttl);
+
+    /* Writes value only if the key still holds expected (null: absent); returns whether it did */
+    boolean compareAndSet(String key, String expected, String value, Duration ttl);
+
+    /* Values in key order, null for misses; stores that can should answer in one round trip */
+    default List<String> multiGet(List<String> keys) {
+        return keys.stream().map(this::get).toList();
+    }
+
+    /* compareAndSet per key, expected values keyed like values; stores that can should use one round trip */
+    default void compareAndSetAll(Map<String, String> expected, Map<String, String> values, Duration ttl) {
+        values.forEach((key, value) -> compareAndSet(key, expected.get(key), value, ttl));
+    }
+
+}
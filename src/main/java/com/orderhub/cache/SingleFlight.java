@@ -0,0 +1,60 @@
+package com.orderhub.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one call: the first caller runs the loader,
+ * callers arriving while it runs wait for and share its result or exception. Nothing is kept
+ * once the load finishes, so this is a coalescing layer, not a cache.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /* Fire-and-forget variant for background refreshes; joins a load already in flight */
+    public CompletableFuture<V> executeAsync(K key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> running = inFlight.get(key);
+        if (running != null) {
+            return running;
+        }
+        return CompletableFuture.supplyAsync(() -> execute(key, loader), executor);
+    }
+
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    private V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,372 @@
+package com.orderhub.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * L1 Caffeine in front of an L2 {@link RemoteCacheStore} (Redis) in front of the loader.
+ * Values are stored in L2 as JSON under {@code cache:<name>:<key>}. L2 failures count as misses.
+ * With a {@code null} store the cache is L1-only but keeps the coalescing and early refresh.
+ *
+ * <p>Concurrent L1 misses for the same key on one instance share a single L2/loader call
+ * through {@link SingleFlight}; the load runs outside Caffeine's compute so a slow query does
+ * not block other keys. Hot entries are refreshed in the background shortly before they
+ * expire, with probability growing as expiry nears and with the cost of the last load
+ * (XFetch, beta = {@code earlyRefreshBeta}; 0 disables it).
+ *
+ * <p>{@link #getAll} serves what it can from L1, reads the rest from L2 in one round trip and
+ * hands what is still missing to a bulk loader; it neither coalesces nor refreshes early.
+ *
+ * <p>Every load and eviction takes a stamp from one clock, and L1 entries carry the stamp of
+ * the load that produced them. A load is installed only if the key holds nothing newer, so an
+ * eviction of one key never discards in-flight loads of others. While loads are running an
+ * eviction leaves a stamped marker in L1 instead of just removing the entry.
+ *
+ * <p>L2 writes are compare-and-set against what the loader saw in L2 before it queried the
+ * database, and {@link #evict} leaves a unique tombstone instead of deleting. A load that
+ * started before a commit on another instance therefore cannot put the old value back after
+ * that instance evicted it, even if this instance has not received the broadcast yet.
+ *
+ * <p>Meters: L1 through {@code cache.gets{cache=<name>}}, L2 through
+ * {@code cache.l2.gets{cache=<name>,result=hit|miss|error}}, loader calls through
+ * {@code cache.loads{cache=<name>}}, callers that joined another caller's load through
+ * {@code cache.coalesced{cache=<name>}} and background refreshes through
+ * {@code cache.early.refreshes{cache=<name>}}.
+ */
+@Slf4j
+public class TwoLevelCache<K, V> implements AutoCloseable {
+
+    /* L2 placeholder for an evicted key; reads treat it as a miss, JSON never starts with it */
+    static final String TOMBSTONE = "\u0000evicted:";
+
+    private final String name;
+    private final Cache<K, Timed<V>> local;
+    private final RemoteCacheStore remote;
+    private final ObjectMapper objectMapper;
+    private final Class<V> type;
+    private final Duration remoteTtl;
+    private final long localTtlNanos;
+    private final double earlyRefreshBeta;
+
+    private final SingleFlight<K, V> singleFlight = new SingleFlight<>();
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+    /* Stamps loads and evictions; a load that overlapped an eviction of its key returns its value but does not cache it */
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger runningLoads = new AtomicInteger();
+    /* Stamp of the last evictAllLocal; loads started before it are not installed */
+    private volatile long clearedAt;
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter earlyRefreshes;
+
+    /* A cached value with its stamp and what XFetch needs; evicted marks an eviction, not a value */
+    private record Timed<V>(V value, long stamp, long loadNanos, long expiresAtNanos, boolean evicted) {
+
+        static <V> Timed<V> evicted(long stamp) {
+            return new Timed<>(null, stamp, 0, Long.MAX_VALUE, true);
+        }
+    }
+
+    /* One L2 read: the raw entry (what a write-back must find unchanged) and the value, if usable */
+    private record Observed<V>(String raw, V value, boolean readable) {
+
+        static <V> Observed<V> unreadable() {
+            return new Observed<>(null, null, false);
+        }
+    }
+
+    public TwoLevelCache(
+        String name,
+        Class<V> type,
+        long localMaximumSize,
+        Duration localTtl,
+        Duration remoteTtl,
+        double earlyRefreshBeta,
+        RemoteCacheStore remote,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.type = type;
+        this.remote = remote;
+        this.objectMapper = objectMapper;
+        this.remoteTtl = remoteTtl;
+        this.localTtlNanos = localTtl.toNanos();
+        this.earlyRefreshBeta = earlyRefreshBeta;
+
+        Cache<K, Timed<V>> cache = Caffeine.newBuilder()
+            .maximumSize(localMaximumSize)
+            .expireAfterWrite(localTtl)
+            .recordStats()
+            .build();
+        this.local = CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+
+        this.remoteHits = remoteCounter(meterRegistry, "hit");
+        this.remoteMisses = remoteCounter(meterRegistry, "miss");
+        this.remoteErrors = remoteCounter(meterRegistry, "error");
+        this.loads = Counter.builder("cache.loads").tag("cache", name).register(meterRegistry);
+        this.coalesced = Counter.builder("cache.coalesced").tag("cache", name).register(meterRegistry);
+        this.earlyRefreshes = Counter.builder("cache.early.refreshes").tag("cache", name).register(meterRegistry);
+    }
+
+    private Counter remoteCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.l2.gets").tag("cache", name).tag("result", result).register(meterRegistry);
+    }
+
+    /* Loader exceptions propagate to every coalesced caller and nothing is cached in either tier */
+    public V get(K key, Function<K, V> loader) {
+
+        Timed<V> cached = local.getIfPresent(key);
+        if (cached != null && !cached.evicted()) {
+            if (shouldRefreshEarly(System.nanoTime(), cached.loadNanos(), cached.expiresAtNanos(),
+                    earlyRefreshBeta, ThreadLocalRandom.current().nextDouble())
+                    && !singleFlight.isInFlight(key)) {
+                earlyRefreshes.increment();
+                singleFlight.executeAsync(key, () -> load(key, loader, false), refresher)
+                    .exceptionally(e -> {
+                        log.warn("Early refresh of {} failed, serving the cached value", remoteKey(key), e);
+                        return null;
+                    });
+            }
+            return cached.value();
+        }
+
+        if (singleFlight.isInFlight(key)) {
+            coalesced.increment();
+        }
+        return singleFlight.execute(key, () -> load(key, loader, true));
+    }
+
+    /* Keys the loader does not return are absent from the result and not cached */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+
+        Map<K, V> result = new HashMap<>(keys.size() * 2);
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            Timed<V> cached = local.getIfPresent(key);
+            if (cached != null && !cached.evicted()) {
+                result.put(key, cached.value());
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        runningLoads.incrementAndGet();
+        try {
+            long stamp = clock.incrementAndGet();
+            long start = System.nanoTime();
+
+            Map<K, String> observed = new HashMap<>(missing.size() * 2);
+            Map<K, V> found = readRemoteAll(missing, observed);
+            found.keySet().forEach(missing::remove);
+
+            Map<K, V> loaded = Map.of();
+            if (!missing.isEmpty()) {
+                loads.increment();
+                loaded = loader.apply(missing);
+            }
+
+            long now = System.nanoTime();
+            Map<K, V> fresh = new HashMap<>(loaded.size() * 2);
+            loaded.forEach((key, value) -> {
+                if (install(key, new Timed<>(value, stamp, now - start, now + localTtlNanos, false))) fresh.put(key, value);
+            });
+            found.forEach((key, value) -> install(key, new Timed<>(value, stamp, now - start, now + localTtlNanos, false)));
+            writeRemoteAll(fresh, observed);
+
+            result.putAll(found);
+            result.putAll(loaded);
+            return result;
+        } finally {
+            runningLoads.decrementAndGet();
+        }
+    }
+
+    private V load(K key, Function<K, V> loader, boolean tryRemote) {
+        runningLoads.incrementAndGet();
+        try {
+            long stamp = clock.incrementAndGet();
+            long start = System.nanoTime();
+
+            /* A refresh goes straight to the loader so that L2 is renewed as well */
+            Observed<V> observed = readRemote(key, tryRemote);
+            V value = observed.value();
+            boolean loaded = value == null;
+            if (loaded) {
+                loads.increment();
+                value = loader.apply(key);
+            }
+
+            long now = System.nanoTime();
+            boolean installed = install(key, new Timed<>(value, stamp, now - start, now + localTtlNanos, false));
+            if (installed && loaded && observed.readable()) writeRemote(key, observed.raw(), value);
+            return value;
+        } finally {
+            runningLoads.decrementAndGet();
+        }
+    }
+
+    /* Keeps whatever the key holds if it is newer than the load, i.e. a later load or eviction */
+    private boolean install(K key, Timed<V> timed) {
+        return local.asMap().compute(key, (k, current) -> {
+            if (timed.stamp() <= clearedAt) return current;
+            if (current != null && current.stamp() > timed.stamp()) return current;
+            return timed;
+        }) == timed;
+    }
+
+    /**
+     * XFetch: refresh when {@code now - delta * beta * ln(random) >= expiry}. ln(random) is
+     * negative, so the check fires earlier for expensive loads and more often near expiry.
+     */
+    static boolean shouldRefreshEarly(long nowNanos, long loadNanos, long expiresAtNanos, double beta, double random) {
+        if (beta <= 0) return false;
+        return nowNanos - loadNanos * beta * Math.log(random) >= expiresAtNanos;
+    }
+
+    /* Drops the entry from both tiers; other instances still need an invalidation message */
+    public void evict(K key) {
+        evictLocal(key);
+        if (remote == null) return;
+        try {
+            /* Unique, so a load that saw an earlier tombstone cannot overwrite this one either */
+            remote.set(remoteKey(key), TOMBSTONE + UUID.randomUUID(), remoteTtl);
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Could not evict {} from the remote cache", remoteKey(key), e);
+        }
+    }
+
+    public void evictLocal(K key) {
+        long stamp = clock.incrementAndGet();
+        /* With no load running a later one starts after this and reads the new value anyway */
+        if (runningLoads.get() == 0) {
+            local.invalidate(key);
+        } else {
+            local.put(key, Timed.evicted(stamp));
+        }
+    }
+
+    public void evictAllLocal() {
+        clearedAt = clock.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /* Stops background refreshes; the cache itself stays usable */
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    /* With useValue false only the raw entry is read, for a refresh's write-back, and not metered */
+    private Observed<V> readRemote(K key, boolean useValue) {
+        if (remote == null) return Observed.unreadable();
+        try {
+            String json = remote.get(remoteKey(key));
+            if (!useValue) return new Observed<>(json, null, true);
+
+            if (json == null || json.startsWith(TOMBSTONE)) {
+                remoteMisses.increment();
+                return new Observed<>(json, null, true);
+            }
+            remoteHits.increment();
+            return new Observed<>(json, objectMapper.readValue(json, type), true);
+
+        } catch (JsonProcessingException | RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Remote cache read failed for {}", remoteKey(key), e);
+            return Observed.unreadable();
+        }
+    }
+
+    /* Fills observed with the raw entry of every key that was read but not usable; left empty on failure */
+    private Map<K, V> readRemoteAll(Set<K> keys, Map<K, String> observed) {
+        Map<K, V> found = new HashMap<>(keys.size() * 2);
+        if (remote == null) return found;
+
+        List<K> ordered = new ArrayList<>(keys);
+        try {
+            List<String> values = remote.multiGet(ordered.stream().map(this::remoteKey).toList());
+            for (int i = 0; i < ordered.size(); i++) {
+                String json = values.get(i);
+                if (json == null || json.startsWith(TOMBSTONE)) {
+                    remoteMisses.increment();
+                    observed.put(ordered.get(i), json);
+                    continue;
+                }
+                remoteHits.increment();
+                found.put(ordered.get(i), objectMapper.readValue(json, type));
+            }
+            return found;
+
+        } catch (JsonProcessingException | RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Remote cache multi-get failed for {} keys of {}", keys.size(), name, e);
+            observed.clear();
+            return new HashMap<>();
+        }
+    }
+
+    /* Only keys whose L2 entry was read are written, each only if it is still what was read */
+    private void writeRemoteAll(Map<K, V> values, Map<K, String> observed) {
+        if (remote == null || values.isEmpty()) return;
+        try {
+            Map<String, String> expected = new HashMap<>(values.size() * 2);
+            Map<String, String> json = new HashMap<>(values.size() * 2);
+            for (Map.Entry<K, V> entry : values.entrySet()) {
+                if (!observed.containsKey(entry.getKey())) continue;
+                String key = remoteKey(entry.getKey());
+                expected.put(key, observed.get(entry.getKey()));
+                json.put(key, objectMapper.writeValueAsString(entry.getValue()));
+            }
+            if (json.isEmpty()) return;
+            remote.compareAndSetAll(expected, json, remoteTtl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Remote cache write failed for {} keys of {}", values.size(), name, e);
+        }
+    }
+
+    private void writeRemote(K key, String expected, V value) {
+        if (remote == null) return;
+        try {
+            remote.compareAndSet(remoteKey(key), expected, objectMapper.writeValueAsString(value), remoteTtl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Remote cache write failed for {}", remoteKey(key), e);
+        }
+    }
+
+    private String remoteKey(K key) {
+        return "cache:" + name + ":" + key;
+    }
+
+}
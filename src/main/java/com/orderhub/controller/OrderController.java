@@ -3,24 +3,41 @@ package com.orderhub.controller;
 import java.util.UUID;
 
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.orderhub.dto.common.response.PageResponse;
 import com.orderhub.dto.error.ApiError;
+import com.orderhub.dto.order.request.BulkCreateOrderRequest;
 import com.orderhub.dto.order.request.CreateOrderRequest;
+import com.orderhub.dto.order.response.BulkOrderResponse;
+import com.orderhub.dto.order.response.OrderAcceptedResponse;
 import com.orderhub.dto.order.response.OrderResponse;
-import com.orderhub.entity.User;
+import com.orderhub.enums.CountMode;
+import com.orderhub.exception.AppException;
+import com.orderhub.security.AuthenticatedUser;
 import com.orderhub.security.CurrentUser;
+import com.orderhub.service.IdempotencyService;
+import com.orderhub.service.OrderIntakeService;
 import com.orderhub.service.OrderService;
+import com.orderhub.service.OrderStreamService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -42,10 +59,14 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStreamService orderStreamService;
+    private final IdempotencyService idempotencyService;
+    private final OrderIntakeService orderIntakeService;
 
-    @Operation(summary = "Create a new Order", description = "Creates a new order for the authenticated user.")
+    @Operation(summary = "Create a new Order", description = "Creates a new order for the authenticated user. Send an Idempotency-Key header to make retries safe: a repeated key replays the first response instead of creating another order.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Order created successfully"),
+        @ApiResponse(responseCode = "201", description = "Order created successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class))),
         @ApiResponse(responseCode = "400", description = "Bad Request or Internal Business Validation", 
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class),
             examples = @ExampleObject(value = """
@@ -58,20 +79,88 @@ public class OrderController {
                 }
             """))
         ),
-        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still running",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+        @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used for a different request body",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
     })
     @PostMapping
-    public ResponseEntity<OrderResponse> create(
-        @Parameter(hidden = true) @CurrentUser User user,
+    public ResponseEntity<Object> create(
+        @Parameter(hidden = true) @CurrentUser AuthenticatedUser user,
+        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
         @RequestBody @Valid CreateOrderRequest req
     ) {
-        var response = orderService.create(user, req);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        if (idempotencyKey == null) {
+            var response = orderService.create(user, req);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
+        /* Stored JSON is written as-is, replays skip serialization */
+        String json = idempotencyService.execute("orders", user.id(), idempotencyKey, req, () -> orderService.create(user, req));
+        return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    @Operation(summary = "Accept an Order asynchronously", description = "Validates the order, queues it and returns 202 with the order id without waiting for the database. Poll GET /api/orders/{id}: it answers 202 while the order is queued, the order once written, or the rejection error. The queue is held in memory by the accepting instance: queued orders are lost if it crashes, and other instances answer 404 until the order is written.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Order accepted for processing",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderAcceptedResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request data",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "429", description = "Intake queue is full, retry later",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping("/async")
+    public ResponseEntity<OrderAcceptedResponse> createAsync(
+        @Parameter(hidden = true) @CurrentUser AuthenticatedUser user,
+        @RequestBody @Valid CreateOrderRequest req
+    ) {
+        UUID orderId = orderIntakeService.submit(user, req);
+        var uri = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/orders/{id}")
+            .buildAndExpand(orderId)
+            .toUri();
+
+        return ResponseEntity.accepted().location(uri).body(new OrderAcceptedResponse(orderId));
+    }
+
+    @Operation(summary = "Create Orders in bulk", description = "Creates up to 500 orders for the authenticated user in one request. Each order is validated independently; the response reports the outcome per order, in request order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-order results",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request data",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponse> createBulk(
+        @Parameter(hidden = true) @CurrentUser AuthenticatedUser user,
+        @RequestBody @Valid BulkCreateOrderRequest req
+    ) {
+        var response = orderService.createBulk(user, req);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Stream order status changes", description = "Opens a Server-Sent Events stream that pushes an 'order-status' event whenever one of the authenticated user's orders changes status.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "429", description = "Too many open streams for this user",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@Parameter(hidden = true) @CurrentUser AuthenticatedUser user) {
+        return orderStreamService.subscribe(user.id());
     }
 
     @Operation(summary = "Get Order by ID", description = "Retrieves order details. Requires user to be the owner or an Admin.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Order retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Order unchanged since the ETag sent in If-None-Match", content = @Content),
+        @ApiResponse(responseCode = "202", description = "Order accepted through /async and still queued", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Order accepted through /async was rejected",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
         @ApiResponse(responseCode = "404", description = "Order not found",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class),
             examples = @ExampleObject(value = """
@@ -99,35 +188,52 @@ public class OrderController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(
-        @Parameter(hidden = true) @CurrentUser User user,
-        @PathVariable UUID id
+        @Parameter(hidden = true) @CurrentUser AuthenticatedUser user,
+        @PathVariable UUID id,
+        WebRequest request
     ) {
-        var response = orderService.getOrderById(user.getId(), id);
-        return ResponseEntity.ok(response);
+        var ticket = orderIntakeService.lookup(id, user.id());
+        if (ticket != null && ticket.state() == OrderIntakeService.State.QUEUED) {
+            return ResponseEntity.accepted().header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        if (ticket != null) {
+            throw new AppException(ticket.errorCode(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        /* The narrow version query only pays off when the client holds an ETag to compare */
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(orderService.getETag(user, id))) {
+            return null;
+        }
+
+        var tagged = orderService.getTaggedOrder(user, id);
+        /* Per-user data: only the browser may store it, and it must revalidate every time */
+        return ResponseEntity.ok().eTag(tagged.etag()).cacheControl(CacheControl.noCache().cachePrivate()).body(tagged.order());
     }
 
-    @Operation(summary = "List all Orders (Admin)", description = "Retrieves a paginated list of all orders. Requires ADMIN role.")
+    @Operation(summary = "List all Orders (Admin)", description = "Retrieves a paginated list of all orders. Requires ADMIN role. The count param (none, estimate, exact) controls whether a total is computed; default is none.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "List retrieved successfully"),
-        @ApiResponse(responseCode = "401", description = "Unauthorized (Not Admin)",
+        @ApiResponse(responseCode = "403", description = "Forbidden (Not Admin)",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class),
             examples = @ExampleObject(value = """
                 {
                     "success": false,
-                    "errorCode": "UNAUTHORIZED",
-                    "status": 401,
-                    "message": "Admin privileges required",
+                    "errorCode": "ERR_FORBIDDEN",
+                    "status": 403,
+                    "message": "You don't have permission to access this resource",
                     "timestamp": "2024-01-24T10:10:00Z"
                 }
             """))
         )
     })
     @GetMapping("/admin")
-    public ResponseEntity<Page<OrderResponse>> getAll(
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponse<OrderResponse>> getAll(
         @ParameterObject @PageableDefault(page = 0, size = 20) Pageable pageable,
-        @Parameter(hidden = true) @CurrentUser User user
+        @RequestParam(name = "count", defaultValue = "none") CountMode countMode
     ) {
-        var response = orderService.getAll(user, pageable);
+        var response = orderService.getAll(pageable, countMode);
         return ResponseEntity.ok(response);
     }
 
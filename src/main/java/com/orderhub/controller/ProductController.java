@@ -1,10 +1,16 @@
 package com.orderhub.controller;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,17 +18,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.orderhub.cache.CachedProduct;
+import com.orderhub.dto.common.response.PageResponse;
 import com.orderhub.dto.error.ApiError;
+import com.orderhub.dto.product.request.BatchLookupRequest;
 import com.orderhub.dto.product.request.CreateRequest;
 import com.orderhub.dto.product.request.UpdateRequest;
+import com.orderhub.dto.product.response.BatchProductResponse;
 import com.orderhub.dto.product.response.CreatedResponse;
+import com.orderhub.dto.product.response.ImportResponse;
 import com.orderhub.dto.product.response.ProductResponse;
-import com.orderhub.entity.User;
+import com.orderhub.dto.product.response.SuggestionResponse;
+import com.orderhub.enums.CountMode;
+import com.orderhub.enums.ImportFormat;
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.repository.ProductFilter;
+import com.orderhub.security.AuthenticatedUser;
 import com.orderhub.security.CurrentUser;
+import com.orderhub.service.ProductImportService;
 import com.orderhub.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +61,12 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    /* Public catalog: shared caches (CDN) may keep it briefly, clients revalidate by ETag */
+    private static final CacheControl CATALOG_CACHE = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
 
     @Operation(summary = "Create new resource", description = "Creates a new resource in the system. Requires ADMIN privileges.")
     @ApiResponses(value = {
@@ -106,9 +131,9 @@ public class ProductController {
         )
     })
     @PostMapping
-    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CreatedResponse> create(
-        @Parameter(hidden = true) @CurrentUser User user,
+        @Parameter(hidden = true) @CurrentUser AuthenticatedUser user,
         @Valid @RequestBody CreateRequest req
     ) {
         var response = productService.create(user, req);
@@ -156,12 +181,25 @@ public class ProductController {
                     )
                 }
             )
+        ),
+        @ApiResponse(
+            responseCode = "409", 
+            description = "The owner already has a product with this name",
+            content = @Content(
+                mediaType = "application/json", 
+                schema = @Schema(implementation = ApiError.class),
+                examples = @ExampleObject(
+                    name = "Duplicated Resource",
+                    summary = "Resource with unique constraint already exists",
+                    value = "{\"success\":false,\"errorCode\":\"ERR_DUPLICATED_RESOURCE\",\"status\":409,\"message\":\"Resource already exists\",\"timestamp\":\"2024-01-24T10:00:00Z\",\"traceId\":\"db-409\",\"details\":null}"
+                )
+            )
         )
     })
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CreatedResponse> update(
-        @Parameter(hidden = true) @CurrentUser User user,
+        @Parameter(hidden = true) @CurrentUser AuthenticatedUser user,
         @PathVariable UUID id,
         @Valid @RequestBody UpdateRequest req
     ) {
@@ -169,70 +207,182 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "Get product by ID")
-    @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getById(@PathVariable UUID id) {
-        var response = productService.getById(id);
-        return ResponseEntity.ok(response);
-    }
-
-    @Operation(summary = "Get product by name", description = "Retrieves a specific product details using its exact name")
+    @Operation(
+        summary = "Bulk import products",
+        description = "Streams products from the body (text/csv with a header row name,description,price,stock, or application/x-ndjson) into the caller's catalog. Rows get the same validation as a single create; invalid rows and names the caller already has are skipped and counted. Requires ADMIN privileges."
+    )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200", 
-            description = "Product found",
+            description = "Import finished, see the counters and the first rejected rows",
+            useReturnTypeSchema = true
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Body could not be parsed; nothing was imported",
+            content = @Content(
+                mediaType = "application/json", 
+                schema = @Schema(implementation = ApiError.class),
+                examples = @ExampleObject(
+                    name = "Invalid Input",
+                    value = "{\"success\":false,\"errorCode\":\"ERR_INVALID_INPUT\",\"status\":400,\"message\":\"Invalid input data\",\"timestamp\":\"2024-01-24T10:00:00Z\",\"traceId\":\"imp-400\",\"details\":null}"
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401", 
+            description = "Unauthorized",
             content = @Content(
                 mediaType = "application/json", 
-                schema = @Schema(implementation = ProductResponse.class)
+                schema = @Schema(implementation = ApiError.class)
             )
+        )
+    })
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResponse> importProducts(
+        @Parameter(hidden = true) @CurrentUser AuthenticatedUser user,
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream body
+    ) {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+            ? ImportFormat.csv
+            : ImportFormat.ndjson;
+
+        var response = productImportService.importProducts(user, body, format);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get product by ID", description = "Returns a strong ETag; send it back in If-None-Match to get 304 Not Modified while the product is unchanged.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product found", useReturnTypeSchema = true),
+        @ApiResponse(responseCode = "304", description = "Product unchanged since the given ETag", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Product not found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductResponse> getById(@PathVariable UUID id, WebRequest request) {
+        /* One cache entry for both, so the ETag always describes the body it is sent with */
+        CachedProduct product = productService.getById(id);
+        String etag = product.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).cacheControl(CATALOG_CACHE).body(product.toResponse());
+    }
+
+    @Operation(
+        summary = "Get products by IDs",
+        description = "Looks up to 500 products in one call. Results follow the request order, one per requested ID, with found=false for IDs that do not exist."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Lookup done, see found per result",
+            useReturnTypeSchema = true
         ),
         @ApiResponse(
             responseCode = "400", 
-            description = "Invalid name format",
+            description = "Empty list, more than 500 IDs or a malformed ID",
             content = @Content(
                 mediaType = "application/json", 
                 schema = @Schema(implementation = ApiError.class),
                 examples = @ExampleObject(
                     name = "Invalid Input",
-                    value = "{\"success\":false,\"errorCode\":\"ERR_INVALID_INPUT\",\"status\":400,\"message\":\"Invalid input provided\",\"timestamp\":\"2024-01-24T10:00:00Z\",\"traceId\":\"req-002\",\"details\":[\"name: invalid format\"]}"
+                    value = "{\"success\":false,\"errorCode\":\"ERR_INVALID_INPUT\",\"status\":400,\"message\":\"Invalid input data\",\"timestamp\":\"2024-01-24T10:00:00Z\",\"traceId\":\"req-003\",\"details\":[\"ids: A batch lookup accepts at most 500 ids\"]}"
                 )
             )
+        )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchProductResponse> getByIds(@Valid @RequestBody BatchLookupRequest req) {
+        var response = productService.getByIds(req.ids());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Search products",
+        description = "Ranked full-text search over name and description of active products, tolerant to typos in the name. Accepts query params: q, page and size. No total count is computed; use hasNext."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Page of matches, best first",
+            useReturnTypeSchema = true
         ),
         @ApiResponse(
-            responseCode = "404", 
-            description = "Product not found",
+            responseCode = "400", 
+            description = "Blank or too long query",
             content = @Content(
                 mediaType = "application/json", 
                 schema = @Schema(implementation = ApiError.class),
                 examples = @ExampleObject(
-                    name = "Product Not Found",
-                    value = "{\"success\":false,\"errorCode\":\"ERR_PRODUCT_NOT_FOUND\",\"status\":404,\"message\":\"Product not found\",\"timestamp\":\"2024-01-24T10:00:00Z\",\"traceId\":\"prd-404\",\"details\":null}"
+                    name = "Invalid Input",
+                    value = "{\"success\":false,\"errorCode\":\"ERR_INVALID_INPUT\",\"status\":400,\"message\":\"Invalid input data\",\"timestamp\":\"2024-01-24T10:00:00Z\",\"traceId\":\"req-002\",\"details\":null}"
                 )
             )
         )
     })
     @GetMapping("/search") 
-    public ResponseEntity<ProductResponse> getByName(@RequestParam String name) {
-        var response = productService.getByName(name);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PageResponse<ProductResponse>> search(
+        @RequestParam String q,
+        @PageableDefault(page = 0, size = 20) Pageable pageable
+    ) {
+        var response = productService.search(q, pageable);
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(response);
+    }
+
+    @Operation(
+        summary = "Autocomplete product names",
+        description = "Active products whose name starts with q (case-insensitive), most ordered first. Answered from memory; meant to be called on every keystroke."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Suggestions, possibly empty",
+            useReturnTypeSchema = true
+        )
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+        @RequestParam(defaultValue = "") String q,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        var response = productService.suggest(q, limit);
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(response);
     }
 
     @Operation(
         summary = "Get all products (Paginated)", 
-        description = "Retrieves a paginated list of all available products. Accepts query params: page, size, sort. Returns empty page if no results found."
+        description = "Retrieves a paginated list of products, active ones unless status says otherwise. Optional filters: minPrice, maxPrice and owner. Sort by price or createdAt (default createdAt,desc). Accepts query params: page, size, sort and count (none, estimate, exact). The default 'none' skips the total count and only reports hasNext. Returns empty page if no results found."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200", 
             description = "Page retrieved successfully",
             useReturnTypeSchema = true
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Unsupported sort or minPrice greater than maxPrice",
+            content = @Content(
+                mediaType = "application/json", 
+                schema = @Schema(implementation = ApiError.class)
+            )
         )
     })
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> getProducts(
-        @PageableDefault(page = 0, size = 20) Pageable pageable
+    public ResponseEntity<PageResponse<ProductResponse>> getProducts(
+        @PageableDefault(page = 0, size = 20) Pageable pageable,
+        @RequestParam(name = "count", defaultValue = "none") CountMode countMode,
+        @RequestParam(defaultValue = "active") ProductStatus status,
+        @RequestParam(required = false) BigDecimal minPrice,
+        @RequestParam(required = false) BigDecimal maxPrice,
+        @RequestParam(name = "owner", required = false) UUID ownerId
     ) {
-        var response = productService.getProducts(pageable);
-        return ResponseEntity.ok(response);
+        var filter = new ProductFilter(status, minPrice, maxPrice, ownerId);
+        var response = productService.getProducts(filter, pageable, countMode);
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(response);
     }
 }
@@ -2,7 +2,6 @@ package com.orderhub.controller;
 
 import java.util.UUID;
 
-import org.springframework.security.core.Authentication;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,14 +10,9 @@ import org.springframework.web.bind.annotation.*;
 
 import com.orderhub.dto.error.ApiError;
 import com.orderhub.dto.role.request.AssociateUnlink;
-import com.orderhub.entity.User;
-import com.orderhub.exception.AppException;
-import com.orderhub.exception.ErrorCode;
-import com.orderhub.security.CurrentUser;
 import com.orderhub.service.RoleService;
 
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -88,16 +82,11 @@ public class RoleController {
         )
     })
     @PostMapping("/{id}/roles")
-    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> associate(
-        @Parameter(hidden = true) @CurrentUser User user,
         @PathVariable UUID id,
-        @RequestBody AssociateUnlink req,
-        Authentication authentication
+        @RequestBody AssociateUnlink req
     ) {
-        if (roleService.verifyRole(user.getId(), "ADMIN")) {
-            throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.FORBIDDEN);
-        }
         roleService.associateRole(id, req.roleName());
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
@@ -136,16 +125,11 @@ public class RoleController {
         )
     })
     @DeleteMapping("/{id}/roles/{roleName}")
-    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> unlink(
-        @Parameter(hidden = true) @CurrentUser User user,
         @PathVariable UUID id,
-        @PathVariable String roleName,
-        Authentication authentication
+        @PathVariable String roleName
     ) {
-        if (!roleService.verifyRole(user.getId(), "ADMIN")) {
-            throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.FORBIDDEN);
-        }
         roleService.unlinkRole(id, roleName);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,45 @@
+package com.orderhub.dto.common.response;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.orderhub.enums.CountMode;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PageResponse<T>(
+
+    List<T> content,
+    int page,
+    int size,
+    boolean hasNext,
+    Long totalElements,
+    CountMode countMode
+
+) {
+
+    public static <T> PageResponse<T> fromPage(Page<T> page) {
+        return new PageResponse<>(
+            page.getContent(),
+            page.getNumber(),
+            page.getSize(),
+            page.hasNext(),
+            page.getTotalElements(),
+            CountMode.exact
+        );
+    }
+
+    public static <T> PageResponse<T> fromSlice(Slice<T> slice, CountMode countMode, Long totalElements) {
+        return new PageResponse<>(
+            slice.getContent(),
+            slice.getNumber(),
+            slice.getSize(),
+            slice.hasNext(),
+            totalElements,
+            countMode
+        );
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.orderhub.dto.order.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record BulkCreateOrderRequest(
+
+    @NotEmpty(message = "The request must contain at least one order")
+    @Size(max = 500, message = "A bulk request accepts at most 500 orders")
+    @Valid
+    List<CreateOrderRequest> orders
+
+) {}
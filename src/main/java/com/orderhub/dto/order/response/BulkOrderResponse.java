@@ -0,0 +1,30 @@
+package com.orderhub.dto.order.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.orderhub.exception.ErrorCode;
+
+public record BulkOrderResponse(
+    int created,
+    int rejected,
+    List<BulkOrderResult> results
+) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record BulkOrderResult(
+        int index,
+        boolean success,
+        OrderResponse order,
+        String errorCode
+    ) {
+
+        public static BulkOrderResult created(int index, OrderResponse order) {
+            return new BulkOrderResult(index, true, order, null);
+        }
+
+        public static BulkOrderResult rejected(int index, ErrorCode errorCode) {
+            return new BulkOrderResult(index, false, null, errorCode.getCode());
+        }
+    }
+}
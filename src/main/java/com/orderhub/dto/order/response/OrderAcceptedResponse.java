@@ -0,0 +1,7 @@
+package com.orderhub.dto.order.response;
+
+import java.util.UUID;
+
+public record OrderAcceptedResponse(
+    UUID orderId
+) {}
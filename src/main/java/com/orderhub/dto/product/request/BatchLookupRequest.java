@@ -0,0 +1,16 @@
+package com.orderhub.dto.product.request;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record BatchLookupRequest(
+
+    @NotEmpty(message = "The request must contain at least one id")
+    @Size(max = 500, message = "A batch lookup accepts at most 500 ids")
+    List<@NotNull UUID> ids
+
+) {}
@@ -0,0 +1,30 @@
+package com.orderhub.dto.product.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/* One result per requested id, in request order */
+public record BatchProductResponse(
+    int found,
+    int notFound,
+    List<BatchProductResult> results
+) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record BatchProductResult(
+        UUID id,
+        boolean found,
+        ProductResponse product
+    ) {
+
+        public static BatchProductResult found(ProductResponse product) {
+            return new BatchProductResult(product.id(), true, product);
+        }
+
+        public static BatchProductResult notFound(UUID id) {
+            return new BatchProductResult(id, false, null);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.orderhub.dto.product.response;
+
+import java.util.List;
+
+/* errors lists the first rejected rows only; rejected counts all of them */
+public record ImportResponse(
+    long received,
+    long imported,
+    long duplicates,
+    long rejected,
+    List<ImportError> errors
+) {
+
+    public record ImportError(
+        long row,
+        String message
+    ) {}
+}
@@ -0,0 +1,10 @@
+package com.orderhub.dto.product.response;
+
+import java.util.UUID;
+
+public record SuggestionResponse(
+
+    UUID id,
+    String name
+
+) {}
@@ -16,6 +16,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.orderhub.enums.OrderStatus;
+import com.orderhub.util.UuidV7;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -42,7 +43,7 @@ import lombok.NoArgsConstructor;
 public class Order {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7.class)
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
     private UUID id;
 
@@ -7,6 +7,7 @@ import org.hibernate.annotations.Check;
 import org.hibernate.annotations.UuidGenerator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.orderhub.util.UuidV7;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -31,7 +32,7 @@ import lombok.NoArgsConstructor;
 public class OrderItem {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7.class)
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
     private UUID id;
 
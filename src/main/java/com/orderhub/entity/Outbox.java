@@ -10,6 +10,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.orderhub.enums.OutboxStatus;
+import com.orderhub.util.UuidV7;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -33,7 +34,7 @@ import lombok.NoArgsConstructor;
 public class Outbox {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7.class)
     private UUID id;
 
     @Column(nullable = false)
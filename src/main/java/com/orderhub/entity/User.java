@@ -11,6 +11,8 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.orderhub.util.UuidV7;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -31,7 +33,7 @@ import lombok.NoArgsConstructor;
 public class User {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7.class)
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
     private UUID id;
 
@@ -55,6 +57,11 @@ public class User {
     @ColumnDefault("true")
     private boolean isActive = true; /* False if u have email verification */
 
+    /* Copied into the "ver" claim; bumping it invalidates older access tokens */
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private long tokenVersion = 0;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
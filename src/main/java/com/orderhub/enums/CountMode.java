@@ -0,0 +1,8 @@
+package com.orderhub.enums;
+
+/* How listings report the total row count: none = slice only, estimate = pg_class.reltuples, exact = COUNT(*) */
+public enum CountMode {
+    none,
+    estimate,
+    exact
+}
@@ -0,0 +1,7 @@
+package com.orderhub.enums;
+
+/* Body formats accepted by the product import: csv with a header row, or one JSON object per line */
+public enum ImportFormat {
+    csv,
+    ndjson
+}
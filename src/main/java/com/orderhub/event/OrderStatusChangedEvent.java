@@ -0,0 +1,15 @@
+package com.orderhub.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.orderhub.enums.OrderStatus;
+
+public record OrderStatusChangedEvent(
+
+    UUID orderId,
+    UUID userId,
+    OrderStatus status,
+    Instant occurredAt
+
+) {}
@@ -0,0 +1,9 @@
+package com.orderhub.event;
+
+import java.util.UUID;
+
+public record ProductChangedEvent(
+
+    UUID productId
+
+) {}
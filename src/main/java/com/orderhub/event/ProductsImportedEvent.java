@@ -0,0 +1,11 @@
+package com.orderhub.event;
+
+import java.util.UUID;
+
+/* Many products created at once; listeners refresh wholesale instead of per id */
+public record ProductsImportedEvent(
+
+    UUID ownerId,
+    int count
+
+) {}
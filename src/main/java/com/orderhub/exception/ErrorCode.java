@@ -36,9 +36,12 @@ public enum ErrorCode {
 
     /* Product */
     PRODUCT_NOT_FOUND("ERR_PRODUCT_NOT_FOUND", "Product not found"),
+    PRODUCT_UNAVAILABLE("ERR_PRODUCT_UNAVAILABLE", "Product is not available for sale"),
 
     /* Order */
-    ORDER_NOT_FOUND("ERR_ORDER_NOT_FOUND", "Order not found");
+    ORDER_NOT_FOUND("ERR_ORDER_NOT_FOUND", "Order not found"),
+    IDEMPOTENCY_IN_PROGRESS("ERR_IDEMPOTENCY_IN_PROGRESS", "A request with this Idempotency-Key is still being processed"),
+    IDEMPOTENCY_KEY_REUSED("ERR_IDEMPOTENCY_KEY_REUSED", "This Idempotency-Key was already used for a different request");
 
     private final String code;
     private final String defaultMessage;
@@ -47,4 +50,11 @@ public enum ErrorCode {
         this.code = code;
         this.defaultMessage = defaultMessage;
     }
+
+    public static ErrorCode fromCode(String code) {
+        for (ErrorCode errorCode : values()) {
+            if (errorCode.code.equals(code)) return errorCode;
+        }
+        return INTERNAL_SERVER_ERROR;
+    }
 }
@@ -0,0 +1,76 @@
+package com.orderhub.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.orderhub.entity.Order;
+import com.orderhub.entity.OrderItem;
+import com.orderhub.entity.Outbox;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC batch inserts for the bulk order path. Ids must be assigned by the caller
+ * and the rows never enter the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ORDER = """
+        INSERT INTO orders (id, user_id, status, total, created_at, updated_at)
+        VALUES (?, ?, CAST(? AS order_status), ?, ?, ?)
+        """;
+
+    private static final String INSERT_ITEM = """
+        INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, subtotal)
+        VALUES (?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String INSERT_OUTBOX = """
+        INSERT INTO outbox (id, topic, aggregate_id, event_type, payload, status, created_at)
+        VALUES (?, ?, ?, ?, CAST(? AS jsonb), ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertOrders(List<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, BATCH_SIZE, (ps, order) -> {
+            ps.setObject(1, order.getId());
+            ps.setObject(2, order.getUser().getId());
+            ps.setString(3, order.getStatus().name());
+            ps.setBigDecimal(4, order.getTotal());
+            ps.setTimestamp(5, Timestamp.from(order.getCreatedAt()));
+            ps.setTimestamp(6, Timestamp.from(order.getUpdatedAt()));
+        });
+    }
+
+    public void insertItems(List<OrderItem> items) {
+        jdbcTemplate.batchUpdate(INSERT_ITEM, items, BATCH_SIZE, (ps, item) -> {
+            ps.setObject(1, item.getId());
+            ps.setObject(2, item.getOrder().getId());
+            ps.setObject(3, item.getProduct().getId());
+            ps.setInt(4, item.getQuantity());
+            ps.setBigDecimal(5, item.getUnitPrice());
+            ps.setBigDecimal(6, item.getSubtotal());
+        });
+    }
+
+    public void insertOutbox(List<Outbox> events) {
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX, events, BATCH_SIZE, (ps, event) -> {
+            ps.setObject(1, event.getId());
+            ps.setString(2, event.getTopic());
+            ps.setString(3, event.getAggregateId());
+            ps.setString(4, event.getEventType());
+            ps.setString(5, event.getPayload());
+            ps.setString(6, event.getStatus().name());
+            ps.setTimestamp(7, Timestamp.from(event.getCreatedAt()));
+        });
+    }
+
+}
@@ -1,10 +1,25 @@
 package com.orderhub.repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
 import com.orderhub.entity.Order;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
-}
\ No newline at end of file
+    /* Fetches size + 1 rows to compute hasNext, no COUNT(*) */
+    Slice<Order> findAllBy(Pageable pageable);
+
+    /* Planner estimate kept by ANALYZE/autovacuum; -1 means never analyzed */
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS bigint) FROM pg_class WHERE oid = CAST('orders' AS regclass)", nativeQuery = true)
+    long estimateCount();
+
+    @Query("SELECT new com.orderhub.repository.OrderVersion(o.user.id, o.updatedAt) FROM Order o WHERE o.id = :id")
+    Optional<OrderVersion> findVersionById(UUID id);
+
+}
@@ -0,0 +1,12 @@
+package com.orderhub.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/* Just enough of an order to authorize a conditional GET and build its ETag */
+public record OrderVersion(
+
+    UUID userId,
+    Instant updatedAt
+
+) {}
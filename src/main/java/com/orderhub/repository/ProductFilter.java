@@ -0,0 +1,21 @@
+package com.orderhub.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.orderhub.enums.ProductStatus;
+
+/* Listing filters; null bounds and owner mean unrestricted */
+public record ProductFilter(
+
+    ProductStatus status,
+    BigDecimal minPrice,
+    BigDecimal maxPrice,
+    UUID ownerId
+
+) {
+
+    public static ProductFilter active() {
+        return new ProductFilter(ProductStatus.active, null, null, null);
+    }
+}
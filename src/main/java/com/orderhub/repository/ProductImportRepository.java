@@ -0,0 +1,126 @@
+package com.orderhub.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bulk product import over the COPY protocol. Rows are streamed into a temporary staging
+ * table and merged into products with one INSERT ... SELECT, so neither side holds the file
+ * in memory. Both calls must run in the same transaction: the staging table is dropped on commit.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductImportRepository {
+
+    /* Rows are sent to the server every time this many chars are buffered */
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final String CREATE_STAGING = """
+        CREATE TEMP TABLE product_import (
+          row_number BIGINT NOT NULL,
+          id UUID NOT NULL,
+          name VARCHAR(200) NOT NULL,
+          description TEXT,
+          price NUMERIC(12,2) NOT NULL,
+          stock INTEGER NOT NULL
+        ) ON COMMIT DROP
+        """;
+
+    private static final String COPY_STAGING =
+        "COPY product_import (row_number, id, name, description, price, stock) FROM STDIN";
+
+    /*
+     * First occurrence wins for names repeated in the file; names the owner already has are skipped by the unique constraint.
+     * Timestamps are set here because auditing does not run for plain SQL; status is spelled out rather than left to the column default.
+     */
+    private static final String MERGE = """
+        INSERT INTO products (id, owner_id, name, description, price, stock, status, created_at, updated_at)
+        SELECT s.id, ?, s.name, s.description, s.price, s.stock, CAST('active' AS product_status), now(), now()
+        FROM (SELECT DISTINCT ON (name) * FROM product_import ORDER BY name, row_number) s
+        ON CONFLICT (owner_id, name) DO NOTHING
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the staging table and streams into it whatever {@code producer} hands to the sink.
+     * Returns the number of staged rows. If the producer throws, the COPY is cancelled and the
+     * exception propagates unchanged.
+     */
+    public long stage(Consumer<Consumer<StagedProduct>> producer) {
+        jdbcTemplate.execute(CREATE_STAGING);
+
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS * 2);
+            try {
+                producer.accept(product -> {
+                    appendRow(buffer, product);
+                    if (buffer.length() >= COPY_BUFFER_CHARS) send(copyIn, buffer);
+                });
+                send(copyIn, buffer);
+                return copyIn.endCopy();
+
+            } catch (RuntimeException | SQLException e) {
+                if (copyIn.isActive()) copyIn.cancelCopy();
+                throw e;
+            }
+        });
+    }
+
+    /* Returns the number of products created */
+    public int merge(UUID ownerId) {
+        return jdbcTemplate.update(MERGE, ownerId);
+    }
+
+    private static void send(CopyIn copyIn, StringBuilder buffer) {
+        if (buffer.isEmpty()) return;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into product_import failed", e);
+        }
+        buffer.setLength(0);
+    }
+
+    /* COPY text format: tab-separated, \N for null, backslash escapes */
+    static void appendRow(StringBuilder buffer, StagedProduct product) {
+        buffer.append(product.row()).append('\t')
+            .append(product.id()).append('\t');
+        appendText(buffer, product.name());
+        buffer.append('\t');
+        appendText(buffer, product.description());
+        buffer.append('\t')
+            .append(product.price().toPlainString()).append('\t')
+            .append(product.stock()).append('\n');
+    }
+
+    private static void appendText(StringBuilder buffer, String value) {
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+}
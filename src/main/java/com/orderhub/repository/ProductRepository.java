@@ -1,16 +1,100 @@
 package com.orderhub.repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.orderhub.cache.CachedProduct;
+import com.orderhub.cache.CatalogRow;
+import com.orderhub.cache.ProductSnapshot;
+import com.orderhub.cache.ProductSuggestion;
+import com.orderhub.cache.ProductVersion;
+import com.orderhub.dto.product.response.ProductResponse;
 import com.orderhub.entity.Product;
+import com.orderhub.enums.ProductStatus;
+
+import jakarta.persistence.QueryHint;
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
-    boolean existsByNameAndOwnerId(String name, UUID ownerId);
+    /*
+     * Duplicate check and insert in one statement, backed by the (owner_id, name) unique
+     * constraint; empty when the owner already has a product with this name. A concurrent
+     * insert of the same name waits for the other transaction and then comes back empty.
+     */
+    @Query(value = """
+        INSERT INTO products (id, owner_id, name, description, price, stock, status, created_at, updated_at)
+        VALUES (:id, :ownerId, :name, :description, :price, :stock, 'active', now(), now())
+        ON CONFLICT (owner_id, name) DO NOTHING
+        RETURNING id
+        """, nativeQuery = true)
+    Optional<UUID> insertIfAbsent(UUID id, UUID ownerId, String name, String description, BigDecimal price, int stock);
+
+    /* Narrow projections for pricing: no owner join, nothing added to the persistence context */
+    @Query("SELECT new com.orderhub.cache.ProductSnapshot(p.id, p.name, p.price, p.status, p.updatedAt) FROM Product p WHERE p.id IN :ids")
+    List<ProductSnapshot> findSnapshotsByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT new com.orderhub.cache.ProductSnapshot(p.id, p.name, p.price, p.status, p.updatedAt) FROM Product p WHERE p.status = :status")
+    List<ProductSnapshot> findSnapshotsByStatus(ProductStatus status);
+
+    @Query("SELECT new com.orderhub.cache.ProductVersion(p.id, p.updatedAt) FROM Product p WHERE p.id IN :ids")
+    List<ProductVersion> findVersionsByIdIn(Collection<UUID> ids);
+
+    /*
+     * Full-text match on name + description (GIN on search_vector) or trigram similarity on the
+     * name for typos (GIN on name gin_trgm_ops); Postgres ORs the two bitmap index scans.
+     * Ranked by text rank plus name similarity; limit is size + 1 so the caller can tell hasNext.
+     */
+    @Query(value = """
+        SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price
+        FROM products p, websearch_to_tsquery('english', :q) query
+        WHERE p.status = 'active'
+          AND (p.search_vector @@ query OR p.name % :q)
+        ORDER BY ts_rank_cd(p.search_vector, query) + similarity(p.name, :q) DESC, p.id
+        LIMIT :limit OFFSET :offset
+        """, nativeQuery = true)
+    List<ProductSearchHit> search(String q, int limit, long offset);
+
+    /* Batch lookups: the response shape straight from the row, no owner join */
+    @Query("SELECT new com.orderhub.dto.product.response.ProductResponse(p.id, p.name, p.description, p.price) FROM Product p WHERE p.id IN :ids")
+    List<ProductResponse> findResponsesByIdIn(Collection<UUID> ids);
+
+    /* Autocomplete source: active names with units sold, summed over order_items(product_id) */
+    @Query("""
+        SELECT new com.orderhub.cache.ProductSuggestion(p.id, p.name, COALESCE(SUM(i.quantity), 0L))
+        FROM Product p LEFT JOIN OrderItem i ON i.product = p
+        WHERE p.status = :status
+        GROUP BY p.id, p.name
+        """)
+    List<ProductSuggestion> findSuggestionsByStatus(ProductStatus status);
+
+    @Query("""
+        SELECT new com.orderhub.cache.ProductSuggestion(p.id, p.name, COALESCE(SUM(i.quantity), 0L))
+        FROM Product p LEFT JOIN OrderItem i ON i.product = p
+        WHERE p.id = :id AND p.status = :status
+        GROUP BY p.id, p.name
+        """)
+    Optional<ProductSuggestion> findSuggestionByIdAndStatus(UUID id, ProductStatus status);
+
+    /* Catalog snapshot writer: streamed in id order (must run in a transaction), nothing managed */
+    @Query("SELECT new com.orderhub.cache.CatalogRow(p.id, p.name, p.description, p.price, p.stock, p.status, p.updatedAt) FROM Product p WHERE p.status = :status ORDER BY p.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CatalogRow> streamCatalog(ProductStatus status);
+
+    @Query("SELECT p.id FROM Product p WHERE p.updatedAt > :since")
+    List<UUID> findIdsUpdatedSince(Instant since);
 
-    Optional<Product> findByName(String name);
+    /* Batch lookups through the product cache: the cached shape straight from the row */
+    @Query("SELECT new com.orderhub.cache.CachedProduct(p.id, p.name, p.description, p.price, p.updatedAt) FROM Product p WHERE p.id IN :ids")
+    List<CachedProduct> findCachedByIdIn(Collection<UUID> ids);
 
 }
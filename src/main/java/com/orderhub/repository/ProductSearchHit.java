@@ -0,0 +1,17 @@
+package com.orderhub.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/* Row of the native search query; columns are matched by alias */
+public interface ProductSearchHit {
+
+    UUID getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+}
@@ -0,0 +1,16 @@
+package com.orderhub.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/* A validated import row; row is its 1-based position in the uploaded file */
+public record StagedProduct(
+
+    long row,
+    UUID id,
+    String name,
+    String description,
+    BigDecimal price,
+    int stock
+
+) {}
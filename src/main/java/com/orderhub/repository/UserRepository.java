@@ -4,6 +4,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.orderhub.entity.User;
 
@@ -11,6 +13,29 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
 
+    /* Registration in one statement against the unique email; empty when the email is taken */
+    @Query(value = """
+        INSERT INTO users (id, username, email, password_hash, revoked, is_active, created_at, updated_at)
+        VALUES (:id, :username, :email, :passwordHash, false, true, now(), now())
+        ON CONFLICT (email) DO NOTHING
+        RETURNING id
+        """, nativeQuery = true)
+    Optional<UUID> insertIfAbsent(UUID id, String username, String email, String passwordHash);
+
     boolean existsById(UUID id);
 
+    /* Whether tokens of this user are still honoured, and the oldest token version that is; empty for an unknown id */
+    @Query("""
+        SELECT new com.orderhub.repository.UserStatus(
+            CASE WHEN u.isActive = true AND u.revoked = false THEN true ELSE false END, u.tokenVersion)
+        FROM User u WHERE u.id = :id
+        """)
+    Optional<UserStatus> findStatusById(UUID id);
+
+    /* Retires every access token issued before this call, e.g. after a role change. Clears the
+       persistence context so a User loaded afterwards in the same transaction sees the new version */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(UUID id);
+
 }
@@ -0,0 +1,9 @@
+package com.orderhub.repository;
+
+/* What the token validator needs per user: whether tokens are honoured and from which version on */
+public record UserStatus(
+
+    boolean enabled,
+    long tokenVersion
+
+) {}
@@ -0,0 +1,28 @@
+package com.orderhub.security;
+
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/* Tells the other instances that a user's roles changed; owned by UserStatusValidator, which also listens */
+@Slf4j
+@RequiredArgsConstructor
+class RoleChangeBroadcaster {
+
+    static final String CHANNEL = "auth:role-invalidations";
+
+    private final StringRedisTemplate redisTemplate;
+
+    void publish(UUID userId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, userId.toString());
+        } catch (RuntimeException e) {
+            /* Other instances then accept the user's older tokens until their status TTL */
+            log.warn("Could not broadcast role change of user {}", userId, e);
+        }
+    }
+
+}
@@ -1,7 +1,5 @@
 package com.orderhub.security;
 
-import java.util.UUID;
-
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -13,23 +11,17 @@ import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
-import com.orderhub.entity.User;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
-import com.orderhub.repository.UserRepository;
-
-import lombok.RequiredArgsConstructor;
 
+/* Resolves @CurrentUser from the already verified token; user status is checked by UserStatusValidator */
 @Component
-@RequiredArgsConstructor
 public class UserArgumentResolver implements HandlerMethodArgumentResolver {
 
-    private final UserRepository userRepository;
-
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
         return parameter.getParameterAnnotation(CurrentUser.class) != null 
-            && parameter.getParameterType().equals(User.class);
+            && parameter.getParameterType().equals(AuthenticatedUser.class);
     }
 
     @Override
@@ -38,17 +30,11 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
-        if (auth == null || !auth.isAuthenticated()) {
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof Jwt jwt)) {
             throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
         }
 
-        Jwt jwt = (Jwt) auth.getPrincipal();
-        
-        String userIdString = jwt.getSubject();
-        UUID userId = UUID.fromString(userIdString);
-
-        return userRepository.findById(userId)
-            .orElseThrow(() -> new AppException(ErrorCode.USR_NOT_FOUND, HttpStatus.NOT_FOUND));
+        return AuthenticatedUser.from(jwt);
     }
 
 }
@@ -0,0 +1,121 @@
+package com.orderhub.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orderhub.event.UserRolesChangedEvent;
+import com.orderhub.repository.UserRepository;
+import com.orderhub.repository.UserStatus;
+import com.orderhub.service.JwtService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects tokens of users that were deactivated or revoked after the token was issued, and
+ * tokens whose {@code ver} claim is older than the user's token version, which every role
+ * change bumps. The answer per user is cached for {@code ttl}; within it, authenticated
+ * requests cost no query. Role changes evict the user right after commit, here and, through
+ * the role invalidation channel, everywhere. Nothing in the application deactivates or
+ * revokes users, so for flags changed in the database the {@code ttl} alone bounds how long
+ * a token keeps working.
+ */
+@Slf4j
+@Component
+public class UserStatusValidator implements OAuth2TokenValidator<Jwt>, MessageListener {
+
+    private static final OAuth2Error DISABLED = new OAuth2Error(
+        OAuth2ErrorCodes.INVALID_TOKEN, "The user is inactive or revoked", null);
+
+    private static final OAuth2Error OUTDATED = new OAuth2Error(
+        OAuth2ErrorCodes.INVALID_TOKEN, "The user's roles changed; refresh the token", null);
+
+    /* Cached for unknown users, so a forged subject cannot force a query per request */
+    private static final UserStatus UNKNOWN = new UserStatus(false, Long.MAX_VALUE);
+
+    private final UserRepository userRepository;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RoleChangeBroadcaster broadcaster;
+    private final Cache<UUID, UserStatus> statuses;
+
+    public UserStatusValidator(
+        UserRepository userRepository,
+        StringRedisTemplate redisTemplate,
+        RedisMessageListenerContainer listenerContainer,
+        MeterRegistry meterRegistry,
+        @Value("${security.user-status.ttl:PT30S}") Duration ttl,
+        @Value("${security.user-status.maximum-size:100000}") long maximumSize
+    ) {
+        this.userRepository = userRepository;
+        this.listenerContainer = listenerContainer;
+        this.broadcaster = new RoleChangeBroadcaster(redisTemplate);
+        Cache<UUID, UserStatus> cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.statuses = CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.status");
+    }
+
+    @PostConstruct
+    void register() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RoleChangeBroadcaster.CHANNEL));
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        UUID userId;
+        try {
+            userId = UUID.fromString(jwt.getSubject());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return OAuth2TokenValidatorResult.failure(DISABLED);
+        }
+
+        UserStatus status = statuses.get(userId, id -> userRepository.findStatusById(id).orElse(UNKNOWN));
+        if (!status.enabled()) return OAuth2TokenValidatorResult.failure(DISABLED);
+
+        /* Tokens issued before the claim existed count as version 0 */
+        Number version = jwt.getClaim(JwtService.TOKEN_VERSION_CLAIM);
+        long tokenVersion = version == null ? 0 : version.longValue();
+        return tokenVersion >= status.tokenVersion()
+            ? OAuth2TokenValidatorResult.success()
+            : OAuth2TokenValidatorResult.failure(OUTDATED);
+    }
+
+    /* Here right away, on the other instances through the broadcast (which reaches this one too) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        statuses.invalidate(event.userId());
+        broadcaster.publish(event.userId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            statuses.invalidate(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed role invalidation message");
+        }
+    }
+
+}
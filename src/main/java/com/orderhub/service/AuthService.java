@@ -61,16 +61,14 @@ public class AuthService {
     @Transactional
     public TokenResponse refresh(RefreshRequest req) {
 
-        String userId = redisService.get(req.refreshToken());
+        /* One atomic step: of two concurrent refreshes with the same token, only one gets a user id */
+        String newRefreshToken = jwtService.generateRefreshToken();
+        String userId = redisService.rotate(req.refreshToken(), newRefreshToken);
         if (userId == null) throw new AppException(ErrorCode.INVALID_TOKEN, HttpStatus.BAD_REQUEST);
 
         User user = userService.findById(UUID.fromString(userId));
 
         String newAccessToken = jwtService.generateAccessToken(user);
-        String newRefreshToken = jwtService.generateRefreshToken();
-        
-        redisService.delete(req.refreshToken());
-        redisService.save(newRefreshToken, user.getId().toString());
 
         return new TokenResponse(newAccessToken, newRefreshToken);
     }
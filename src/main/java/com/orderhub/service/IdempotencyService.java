@@ -0,0 +1,145 @@
+package com.orderhub.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key handling backed by Redis. The first request for a key stores an in-flight
+ * marker with SET NX, runs the action and replaces the marker with the serialized response.
+ * Retries replay the stored JSON (a single GET); concurrent duplicates poll until the first
+ * request finishes instead of running the action again. Marker and response both carry a
+ * SHA-256 of the request, so reusing a key for a different request fails with 422 instead of
+ * replaying the first one.
+ *
+ * Known window: the response is stored after the action's transaction committed. If that
+ * write fails, the response is still returned but the marker expires after
+ * {@code in-flight-ttl}, and a retry with the same key after that runs the action again.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String IN_FLIGHT = "\u0000in-flight:";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int FINGERPRINT_LENGTH = 64; /* hex SHA-256 */
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration responseTtl;
+    private final Duration inFlightTtl;
+    private final Duration waitTimeout;
+
+    public IdempotencyService(
+        StringRedisTemplate redisTemplate,
+        ObjectMapper objectMapper,
+        @Value("${idempotency.response-ttl:PT24H}") Duration responseTtl,
+        @Value("${idempotency.in-flight-ttl:PT30S}") Duration inFlightTtl,
+        @Value("${idempotency.wait-timeout:PT10S}") Duration waitTimeout
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.responseTtl = responseTtl;
+        this.inFlightTtl = inFlightTtl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    public String execute(String scope, UUID userId, String idempotencyKey, Object request, Supplier<?> action) {
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AppException(ErrorCode.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+        }
+
+        String redisKey = KEY_PREFIX + scope + ":" + userId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        long backoffMs = 10;
+
+        while (true) {
+            String stored = redisTemplate.opsForValue().get(redisKey);
+
+            if (stored != null) {
+                boolean inFlight = stored.startsWith(IN_FLIGHT);
+                String storedFingerprint = inFlight
+                    ? stored.substring(IN_FLIGHT.length())
+                    : stored.substring(0, Math.min(FINGERPRINT_LENGTH, stored.length()));
+
+                if (!storedFingerprint.equals(fingerprint)) {
+                    throw new AppException(ErrorCode.IDEMPOTENCY_KEY_REUSED, HttpStatus.UNPROCESSABLE_ENTITY);
+                }
+                if (!inFlight) {
+                    return stored.substring(FINGERPRINT_LENGTH);
+                }
+            }
+
+            if (stored == null && Boolean.TRUE.equals(
+                    redisTemplate.opsForValue().setIfAbsent(redisKey, IN_FLIGHT + fingerprint, inFlightTtl))) {
+                return runAndStore(redisKey, fingerprint, action);
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new AppException(ErrorCode.IDEMPOTENCY_IN_PROGRESS, HttpStatus.CONFLICT);
+            }
+
+            sleep(backoffMs);
+            backoffMs = Math.min(backoffMs * 2, 200);
+        }
+    }
+
+    private String runAndStore(String redisKey, String fingerprint, Supplier<?> action) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(action.get());
+        } catch (JsonProcessingException e) {
+            redisTemplate.delete(redisKey);
+            throw new RuntimeException("Error serializing idempotent response", e);
+        } catch (RuntimeException e) {
+            /* Let the client retry with the same key after a failure */
+            redisTemplate.delete(redisKey);
+            throw e;
+        }
+
+        /* The action already committed: answer the client even if the response cannot be stored */
+        try {
+            redisTemplate.opsForValue().set(redisKey, fingerprint + json, responseTtl);
+        } catch (RuntimeException e) {
+            log.error("Could not store idempotent response for {}; a retry after the in-flight TTL runs again", redisKey, e);
+        }
+        return json;
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint idempotent request", e);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.IDEMPOTENCY_IN_PROGRESS, HttpStatus.CONFLICT);
+        }
+    }
+
+}
@@ -16,6 +16,9 @@ import com.orderhub.entity.User;
 
 @Service
 public class JwtService {
+
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final JwtEncoder encoder;
 
     public JwtService(JwtEncoder encoder) {
@@ -59,6 +62,7 @@ public class JwtService {
             .subject(user.getId().toString())
             .claim("id", user.getId())
             .claim("roles", rolesNames)
+            .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
             .claim("scope", scope)
             .build();
 
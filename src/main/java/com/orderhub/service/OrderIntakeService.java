@@ -0,0 +1,177 @@
+package com.orderhub.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.orderhub.dto.order.request.CreateOrderRequest;
+import com.orderhub.dto.order.response.BulkOrderResponse.BulkOrderResult;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+import com.orderhub.security.AuthenticatedUser;
+import com.orderhub.service.OrderService.PendingOrder;
+import com.orderhub.util.UuidV7;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous order intake. Requests are validated and queued by the caller's thread,
+ * which returns immediately with the pre-assigned order id; a few writer threads drain
+ * the bounded queue and commit many orders per transaction (group commit).
+ *
+ * Queue and tickets live in this instance's memory only. Orders still queued when the
+ * process dies are lost (a graceful stop drains for up to 30 seconds), and until an order
+ * is written only the accepting instance knows it: polling another instance answers 404,
+ * so clients should treat 404 right after a 202 as "not yet" and retry. Use the synchronous
+ * endpoint when an order must be durable before the response.
+ */
+@Slf4j
+@Service
+public class OrderIntakeService {
+
+    public enum State { QUEUED, REJECTED }
+
+    public record Ticket(UUID userId, State state, ErrorCode errorCode, Instant updatedAt) {}
+
+    private final OrderService orderService;
+    private final BlockingQueue<PendingOrder> queue;
+    private final Map<UUID, Ticket> tickets = new ConcurrentHashMap<>();
+
+    private final int writers;
+    private final int batchSize;
+    private final Duration rejectedRetention;
+
+    private volatile boolean running;
+    private ExecutorService writerPool;
+
+    public OrderIntakeService(
+        OrderService orderService,
+        @Value("${orders.intake.capacity:10000}") int capacity,
+        @Value("${orders.intake.writers:2}") int writers,
+        @Value("${orders.intake.batch-size:200}") int batchSize,
+        @Value("${orders.intake.rejected-retention:PT10M}") Duration rejectedRetention
+    ) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writers = writers;
+        this.batchSize = batchSize;
+        this.rejectedRetention = rejectedRetention;
+    }
+
+    public UUID submit(AuthenticatedUser user, CreateOrderRequest req) {
+
+        UUID orderId = UuidV7.generate();
+        tickets.put(orderId, new Ticket(user.id(), State.QUEUED, null, Instant.now()));
+
+        if (!queue.offer(new PendingOrder(orderId, user.id(), req.items()))) {
+            tickets.remove(orderId);
+            throw new AppException(ErrorCode.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        return orderId;
+    }
+
+    /* Ticket for an order that was accepted but is not (or will never be) in the database */
+    public Ticket lookup(UUID orderId, UUID userId) {
+        Ticket ticket = tickets.get(orderId);
+        return ticket != null && ticket.userId().equals(userId) ? ticket : null;
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerPool = Executors.newFixedThreadPool(writers, Thread.ofPlatform().name("order-intake-", 0).factory());
+        for (int i = 0; i < writers; i++) {
+            writerPool.execute(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerPool.shutdown();
+        if (!writerPool.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Order intake stopped with {} orders still queued", queue.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void write(List<PendingOrder> batch) {
+        try {
+            settle(batch, orderService.createAccepted(batch));
+        } catch (RuntimeException e) {
+            /* Isolate the order that broke the group commit by retrying one per transaction */
+            log.warn("Group commit of {} orders failed, retrying individually", batch.size(), e);
+            for (PendingOrder order : batch) {
+                try {
+                    settle(List.of(order), orderService.createAccepted(List.of(order)));
+                } catch (RuntimeException single) {
+                    log.error("Accepted order {} could not be written", order.orderId(), single);
+                    reject(order, ErrorCode.INTERNAL_SERVER_ERROR);
+                }
+            }
+        }
+    }
+
+    private void settle(List<PendingOrder> batch, List<BulkOrderResult> results) {
+        for (BulkOrderResult result : results) {
+            PendingOrder order = batch.get(result.index());
+            if (result.success()) {
+                tickets.remove(order.orderId());
+            } else {
+                reject(order, ErrorCode.fromCode(result.errorCode()));
+            }
+        }
+    }
+
+    private void reject(PendingOrder order, ErrorCode errorCode) {
+        tickets.put(order.orderId(), new Ticket(order.userId(), State.REJECTED, errorCode, Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${orders.intake.cleanup-ms:60000}")
+    public void evictRejected() {
+        Instant cutoff = Instant.now().minus(rejectedRetention);
+        tickets.values().removeIf(ticket -> ticket.state() == State.REJECTED && ticket.updatedAt().isBefore(cutoff));
+    }
+
+}
@@ -1,36 +1,47 @@
 package com.orderhub.service;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.cache.ProductSnapshot;
+import com.orderhub.cache.ProductSnapshotCache;
+import com.orderhub.dto.common.response.PageResponse;
+import com.orderhub.dto.order.request.BulkCreateOrderRequest;
 import com.orderhub.dto.order.request.CreateOrderRequest;
 import com.orderhub.dto.order.request.CreateOrderRequest.OrderItemRequest;
+import com.orderhub.dto.order.response.BulkOrderResponse;
 import com.orderhub.dto.order.response.OrderResponse;
 import com.orderhub.entity.Order;
 import com.orderhub.entity.OrderItem;
 import com.orderhub.entity.Outbox;
-import com.orderhub.entity.Product;
-import com.orderhub.entity.User;
+import com.orderhub.enums.CountMode;
 import com.orderhub.enums.OrderStatus;
 import com.orderhub.enums.OutboxStatus;
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.event.OrderStatusChangedEvent;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
+import com.orderhub.repository.OrderBatchRepository;
 import com.orderhub.repository.OrderRepository;
+import com.orderhub.repository.OrderVersion;
 import com.orderhub.repository.OutboxRepository;
 import com.orderhub.repository.ProductRepository;
+import com.orderhub.repository.UserRepository;
+import com.orderhub.security.AuthenticatedUser;
+import com.orderhub.util.ETags;
+import com.orderhub.util.Money;
+import com.orderhub.util.UuidV7;
 
 import lombok.RequiredArgsConstructor;
 
@@ -39,80 +50,39 @@ import lombok.RequiredArgsConstructor;
 public class OrderService {
 
     private final ProductRepository productRepository;
+    private final UserRepository userRepository;
     private final OrderRepository orderRepository;
     private final OutboxRepository outboxRepository;
-    private final RoleService roleService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderBatchRepository orderBatchRepository;
+    private final ProductSnapshotCache productSnapshotCache;
 
     @Transactional
-    public OrderResponse create(User user, CreateOrderRequest req) {
+    public OrderResponse create(AuthenticatedUser user, CreateOrderRequest req) {
 
         List<UUID> productIds = req.items().stream().map(OrderItemRequest::productId).toList();
-        List<Product> products = productRepository.findAllById(productIds);
+        Map<UUID, ProductSnapshot> productMap = productSnapshotCache.current(productIds);
 
-        if (products.size() != productIds.size()) {
+        if (productMap.size() != productIds.size()) {
             throw new AppException(ErrorCode.INTERNAL_SERVER_ERROR, HttpStatus.BAD_REQUEST); 
         }
 
-        Map<UUID, Product> productMap = products.stream()
-            .collect(Collectors.toMap(Product::getId, Function.identity()));
-
-        Order order = new Order();
-        order.setUser(user);
-        order.setStatus(OrderStatus.pending);
-
         Instant now = Instant.now();
-        order.setCreatedAt(now);
-        order.setUpdatedAt(now);
-
-        List<OrderItem> orderItems = new ArrayList<>();
-        BigDecimal totalOrderValue = BigDecimal.ZERO;
-
-        for (OrderItemRequest itemReq : req.items()) {
-            Product product = productMap.get(itemReq.productId());
-
-            BigDecimal unitPrice = product.getPrice();
-            BigDecimal itemTotal = unitPrice.multiply(BigDecimal.valueOf(itemReq.quantity()));
-
-            totalOrderValue = totalOrderValue.add(itemTotal);
-
-            OrderItem orderItem = new OrderItem();
-            orderItem.setProduct(product);
-            orderItem.setQuantity(itemReq.quantity());
-            orderItem.setUnitPrice(unitPrice);
-            orderItem.setSubtotal(itemTotal);
-            orderItem.setOrder(order);
-            orderItems.add(orderItem);
-        }
-
-        if (totalOrderValue.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new AppException(ErrorCode.INTERNAL_SERVER_ERROR, HttpStatus.BAD_REQUEST);
-        }
-
-        order.setTotal(totalOrderValue);
-        order.setItems(orderItems); 
+        Order order = buildOrder(user.id(), req.items(), productMap, now);
 
         Order savedOrder = orderRepository.save(order);
 
-        OrderResponse response = mapToOrderResponse(savedOrder);
-
-        try {
-            String orderJson = objectMapper.writeValueAsString(response);
-
-            Outbox outbox = Outbox.builder()
-                .topic("orders-events")
-                .aggregateId(savedOrder.getId().toString())
-                .eventType("ORDER_CREATED")
-                .payload(orderJson)
-                .status(OutboxStatus.PENDING)
-                .createdAt(Instant.now())
-                .build();
+        OrderResponse response = mapToOrderResponse(savedOrder, productMap);
 
-            outboxRepository.save(outbox);
+        outboxRepository.save(buildOutbox(response));
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error processing outbox event", e);
-        }
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+            savedOrder.getId(),
+            user.id(),
+            savedOrder.getStatus(),
+            now
+        ));
 
         /*
             List<OrderResponse.OrderItemResponse> itemResponse = savedOrder.getItems().stream()
@@ -137,29 +107,223 @@ public class OrderService {
         return response;
     }
 
-    public Page<OrderResponse> getAll(User user, Pageable pageable) {
+    /**
+     * Creates many orders in one transaction. Products are resolved with chunked IN queries,
+     * priced in memory and written with JDBC batch statements. Orders failing validation are
+     * reported individually and do not block the rest of the batch.
+     */
+    @Transactional
+    public BulkOrderResponse createBulk(AuthenticatedUser user, BulkCreateOrderRequest req) {
 
-        if (!roleService.verifyRole(user.getId(), "ADMIN")) {
-            throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+        List<PendingOrder> pending = req.orders().stream()
+            .map(order -> new PendingOrder(UuidV7.generate(), user.id(), order.items()))
+            .toList();
+
+        List<BulkOrderResponse.BulkOrderResult> results = writeBatch(pending);
+        int created = (int) results.stream().filter(BulkOrderResponse.BulkOrderResult::success).count();
+
+        return new BulkOrderResponse(created, results.size() - created, results);
+    }
+
+    /* Group commit for the async intake: every pending order of the batch in one transaction */
+    @Transactional
+    public List<BulkOrderResponse.BulkOrderResult> createAccepted(List<PendingOrder> pending) {
+        return writeBatch(pending);
+    }
+
+    /* Admin only; enforced on the controller from the token's roles */
+    public PageResponse<OrderResponse> getAll(Pageable pageable, CountMode countMode) {
+
+        if (countMode == CountMode.exact) {
+            return PageResponse.fromPage(orderRepository.findAll(pageable).map(this::mapToOrderResponse));
         }
 
-        return orderRepository.findAll(pageable)
-            .map(this::mapToOrderResponse);
+        Slice<OrderResponse> orders = orderRepository.findAllBy(pageable).map(this::mapToOrderResponse);
+        Long total = countMode == CountMode.estimate ? orderRepository.estimateCount() : null;
+
+        return PageResponse.fromSlice(orders, countMode, total);
     }
 
-    public OrderResponse getOrderById(UUID userId, UUID orderId) {
+    public OrderResponse getOrderById(AuthenticatedUser user, UUID orderId) {
+        return mapToOrderResponse(loadReadable(user, orderId));
+    }
+
+    /* The full read plus its ETag, taken from the same row so a 200 costs a single load */
+    public TaggedOrder getTaggedOrder(AuthenticatedUser user, UUID orderId) {
+        Order order = loadReadable(user, orderId);
+        return new TaggedOrder(mapToOrderResponse(order), ETags.of(order.getId(), order.getUpdatedAt()));
+    }
+
+    public record TaggedOrder(OrderResponse order, String etag) {}
+
+    private Order loadReadable(AuthenticatedUser user, UUID orderId) {
 
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new AppException(ErrorCode.ORDER_NOT_FOUND, HttpStatus.NOT_FOUND));
 
-        boolean isOwner = order.getUser().getId().equals(userId);
-        boolean isAdmin = roleService.verifyRole(userId, "ADMIN");
+        boolean isOwner = order.getUser().getId().equals(user.id());
+        boolean isAdmin = user.hasRole("ADMIN");
         
         if (!isOwner && !isAdmin) { 
             throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED); 
         }
             
-        return mapToOrderResponse(order);
+        return order;
+    }
+
+    /* Authorizes like getOrderById but reads only owner and updated_at, for If-None-Match */
+    public String getETag(AuthenticatedUser user, UUID orderId) {
+
+        OrderVersion version = orderRepository.findVersionById(orderId)
+            .orElseThrow(() -> new AppException(ErrorCode.ORDER_NOT_FOUND, HttpStatus.NOT_FOUND));
+
+        if (!version.userId().equals(user.id()) && !user.hasRole("ADMIN")) {
+            throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+        }
+
+        return ETags.of(orderId, version.updatedAt());
+    }
+
+    private List<BulkOrderResponse.BulkOrderResult> writeBatch(List<PendingOrder> pending) {
+
+        Map<UUID, ProductSnapshot> productMap = productSnapshotCache.current(pending.stream()
+            .flatMap(order -> order.items().stream())
+            .map(OrderItemRequest::productId)
+            .toList());
+
+        Instant now = Instant.now();
+        List<Order> orders = new ArrayList<>();
+        List<Outbox> outboxes = new ArrayList<>();
+        List<BulkOrderResponse.BulkOrderResult> results = new ArrayList<>(pending.size());
+
+        for (int i = 0; i < pending.size(); i++) {
+            PendingOrder draft = pending.get(i);
+            List<OrderItemRequest> items = draft.items();
+
+            try {
+                long distinctProducts = items.stream().map(OrderItemRequest::productId).distinct().count();
+                if (distinctProducts != items.size()) {
+                    throw new AppException(ErrorCode.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+                }
+                if (!items.stream().allMatch(item -> productMap.containsKey(item.productId()))) {
+                    throw new AppException(ErrorCode.PRODUCT_NOT_FOUND, HttpStatus.BAD_REQUEST);
+                }
+
+                Order order = buildOrder(draft.userId(), items, productMap, now);
+                order.setId(draft.orderId());
+                order.getItems().forEach(item -> item.setId(UuidV7.generate()));
+
+                OrderResponse response = mapToOrderResponse(order, productMap);
+                Outbox outbox = buildOutbox(response);
+                outbox.setId(UuidV7.generate());
+
+                orders.add(order);
+                outboxes.add(outbox);
+                results.add(BulkOrderResponse.BulkOrderResult.created(i, response));
+
+            } catch (AppException e) {
+                results.add(BulkOrderResponse.BulkOrderResult.rejected(i, e.getErrorCode()));
+            }
+        }
+
+        if (!orders.isEmpty()) {
+            orderBatchRepository.insertOrders(orders);
+            orderBatchRepository.insertItems(orders.stream().flatMap(order -> order.getItems().stream()).toList());
+            orderBatchRepository.insertOutbox(outboxes);
+        }
+
+        orders.forEach(order -> eventPublisher.publishEvent(new OrderStatusChangedEvent(
+            order.getId(),
+            order.getUser().getId(),
+            order.getStatus(),
+            now
+        )));
+
+        return results;
+    }
+
+    /* The user is only a foreign key here, so a proxy from the id stands in for the row */
+    private Order buildOrder(UUID userId, List<OrderItemRequest> items, Map<UUID, ProductSnapshot> productMap, Instant now) {
+
+        Order order = new Order();
+        order.setUser(userRepository.getReferenceById(userId));
+        order.setStatus(OrderStatus.pending);
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+
+        List<OrderItem> orderItems = new ArrayList<>(items.size());
+        Money totalOrderValue = Money.ZERO;
+
+        try {
+            for (OrderItemRequest itemReq : items) {
+                ProductSnapshot product = productMap.get(itemReq.productId());
+                if (product.status() != ProductStatus.active) {
+                    throw new AppException(ErrorCode.PRODUCT_UNAVAILABLE, HttpStatus.BAD_REQUEST);
+                }
+
+                Money itemTotal = Money.of(product.price()).times(itemReq.quantity());
+                totalOrderValue = totalOrderValue.plus(itemTotal);
+
+                OrderItem orderItem = new OrderItem();
+                orderItem.setProduct(productRepository.getReferenceById(product.id()));
+                orderItem.setQuantity(itemReq.quantity());
+                orderItem.setUnitPrice(product.price());
+                orderItem.setSubtotal(itemTotal.toBigDecimal());
+                orderItem.setOrder(order);
+                orderItems.add(orderItem);
+            }
+        } catch (ArithmeticException e) {
+            /* Subtotal or total does not fit NUMERIC(12,2) */
+            throw new AppException(ErrorCode.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+        }
+
+        if (!totalOrderValue.isPositive()) {
+            throw new AppException(ErrorCode.INTERNAL_SERVER_ERROR, HttpStatus.BAD_REQUEST);
+        }
+
+        order.setTotal(totalOrderValue.toBigDecimal());
+        order.setItems(orderItems);
+
+        return order;
+    }
+
+    private Outbox buildOutbox(OrderResponse response) {
+        try {
+            String orderJson = objectMapper.writeValueAsString(response);
+
+            return Outbox.builder()
+                .topic("orders-events")
+                .aggregateId(response.orderId().toString())
+                .eventType("ORDER_CREATED")
+                .payload(orderJson)
+                .status(OutboxStatus.PENDING)
+                .createdAt(Instant.now())
+                .build();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error processing outbox event", e);
+        }
+    }
+
+    /* Write paths: product names come from the snapshots, so the product proxies stay uninitialized */
+    private OrderResponse mapToOrderResponse(Order order, Map<UUID, ProductSnapshot> productMap) {
+        List<OrderResponse.OrderItemResponse> items = order.getItems().stream()
+            .map(item -> new OrderResponse.OrderItemResponse(
+                item.getProduct().getId(),
+                productMap.get(item.getProduct().getId()).name(),
+                item.getQuantity(),
+                item.getUnitPrice(),
+                item.getSubtotal()
+            ))
+            .toList();
+
+        return new OrderResponse(
+            order.getId(),
+            order.getTotal(),
+            order.getStatus(),
+            order.getCreatedAt(),
+            items
+        );
     }
 
     private OrderResponse mapToOrderResponse(Order order) {
@@ -169,7 +333,7 @@ public class OrderService {
                 item.getProduct().getName(),
                 item.getQuantity(),
                 item.getUnitPrice(),
-                item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()))
+                item.getSubtotal()
             ))
             .toList();
     
@@ -181,4 +345,7 @@ public class OrderService {
             items
         );
     }
+
+    /* An order whose id was handed out before it is written, as in the bulk and async intake paths */
+    public record PendingOrder(UUID orderId, UUID userId, List<OrderItemRequest> items) {}
 }
\ No newline at end of file
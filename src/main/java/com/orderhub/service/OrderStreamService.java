@@ -0,0 +1,126 @@
+package com.orderhub.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.orderhub.event.OrderStatusChangedEvent;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process registry of open SSE streams, keyed by user.
+ * Emitters run on async servlet requests, so an idle stream holds no request thread;
+ * sends are dispatched on virtual threads so a slow client never blocks the committing transaction.
+ */
+@Slf4j
+@Service
+public class OrderStreamService {
+
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long timeoutMs;
+    private final int maxPerUser;
+
+    public OrderStreamService(
+        @Value("${orders.stream.timeout-ms:1800000}") long timeoutMs,
+        @Value("${orders.stream.max-per-user:5}") int maxPerUser
+    ) {
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = maxPerUser;
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+
+        subscribers.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> current = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+            if (current.size() >= maxPerUser) {
+                throw new AppException(ErrorCode.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS);
+            }
+            current.add(emitter);
+            return current;
+        });
+        openStreams.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(ex -> remove(userId, emitter));
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        publish(event);
+    }
+
+    public void publish(OrderStatusChangedEvent event) {
+
+        Set<SseEmitter> emitters = subscribers.get(event.userId());
+        if (emitters == null || emitters.isEmpty()) return;
+
+        for (SseEmitter emitter : emitters) {
+            dispatcher.execute(() -> send(event.userId(), emitter, SseEmitter.event()
+                .id(event.orderId().toString())
+                .name("order-status")
+                .data(event, MediaType.APPLICATION_JSON)));
+        }
+    }
+
+    /* Keeps idle connections alive through proxies and detects dead clients */
+    @Scheduled(fixedDelayString = "${orders.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, emitters) -> emitters.forEach(emitter ->
+            dispatcher.execute(() -> send(userId, emitter, SseEmitter.event().comment("ping")))));
+    }
+
+    public int openStreams() {
+        return openStreams.get();
+    }
+
+    private void send(UUID userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(UUID userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                openStreams.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        dispatcher.shutdown();
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.orderhub.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.orderhub.dto.product.request.CreateRequest;
+import com.orderhub.dto.product.response.ImportResponse;
+import com.orderhub.dto.product.response.ImportResponse.ImportError;
+import com.orderhub.enums.ImportFormat;
+import com.orderhub.event.ProductsImportedEvent;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+import com.orderhub.repository.ProductImportRepository;
+import com.orderhub.repository.StagedProduct;
+import com.orderhub.security.AuthenticatedUser;
+import com.orderhub.util.UuidV7;
+
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk product creation for seller onboarding. The body is parsed one row at a time and each
+ * row gets the same validation as {@code POST /api/products}; valid rows are streamed into
+ * staging and merged in one statement. Invalid rows are counted and skipped, a body that
+ * cannot be parsed at all aborts the whole import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final TypeReference<Map<String, Object>> ROW = new TypeReference<>() {};
+
+    private final ProductImportRepository productImportRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Transactional
+    public ImportResponse importProducts(AuthenticatedUser user, InputStream body, ImportFormat format) {
+
+        Tally tally = new Tally();
+        long staged;
+        try (MappingIterator<Map<String, Object>> rows = open(body, format)) {
+            staged = productImportRepository.stage(sink -> readRows(rows, sink, tally));
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Product import aborted at row {}: {}", tally.received + 1, e.getMessage());
+            throw new AppException(ErrorCode.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+        }
+
+        int imported = staged == 0 ? 0 : productImportRepository.merge(user.id());
+        if (imported > 0) {
+            eventPublisher.publishEvent(new ProductsImportedEvent(user.id(), imported));
+        }
+
+        log.info("Imported {} of {} products for {} ({} rejected, {} duplicates)",
+            imported, tally.received, user.id(), tally.rejected, staged - imported);
+
+        return new ImportResponse(tally.received, imported, staged - imported, tally.rejected, tally.errors);
+    }
+
+    private MappingIterator<Map<String, Object>> open(InputStream body, ImportFormat format) throws IOException {
+        return switch (format) {
+            case csv -> csvMapper.readerFor(ROW).with(CsvSchema.emptySchema().withHeader()).readValues(body);
+            case ndjson -> objectMapper.readerFor(ROW).readValues(body);
+        };
+    }
+
+    private void readRows(MappingIterator<Map<String, Object>> rows, Consumer<StagedProduct> sink, Tally tally) {
+        try {
+            while (rows.hasNextValue()) {
+                Map<String, Object> raw = rows.nextValue();
+                long row = ++tally.received;
+
+                CreateRequest req;
+                try {
+                    req = objectMapper.convertValue(raw, CreateRequest.class);
+                } catch (IllegalArgumentException e) {
+                    tally.reject(row, "Malformed row");
+                    continue;
+                }
+
+                Set<ConstraintViolation<CreateRequest>> violations = validator.validate(req);
+                if (!violations.isEmpty()) {
+                    tally.reject(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                    continue;
+                }
+
+                sink.accept(new StagedProduct(row, UuidV7.generate(), req.name(), req.description(), req.price(), req.stock()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* Counters for one import; only the first rejections keep their message */
+    private static final class Tally {
+
+        long received;
+        long rejected;
+        final List<ImportError> errors = new ArrayList<>();
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportError(row, message));
+            }
+        }
+    }
+
+}
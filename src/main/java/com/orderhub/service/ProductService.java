@@ -1,22 +1,44 @@
 package com.orderhub.service;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.orderhub.cache.CachedProduct;
+import com.orderhub.cache.CatalogRow;
+import com.orderhub.cache.CatalogSnapshot;
+import com.orderhub.cache.ProductCache;
+import com.orderhub.cache.ProductSuggestIndex;
+import com.orderhub.dto.common.response.PageResponse;
 import com.orderhub.dto.product.request.CreateRequest;
 import com.orderhub.dto.product.request.UpdateRequest;
+import com.orderhub.dto.product.response.BatchProductResponse;
+import com.orderhub.dto.product.response.BatchProductResponse.BatchProductResult;
 import com.orderhub.dto.product.response.CreatedResponse;
 import com.orderhub.dto.product.response.ProductResponse;
+import com.orderhub.dto.product.response.SuggestionResponse;
 import com.orderhub.entity.Product;
-import com.orderhub.entity.User;
+import com.orderhub.enums.CountMode;
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.event.ProductChangedEvent;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
+import com.orderhub.repository.ProductFilter;
+import com.orderhub.repository.ProductListingRepository;
 import com.orderhub.repository.ProductRepository;
+import com.orderhub.repository.ProductSearchHit;
+import com.orderhub.security.AuthenticatedUser;
+import com.orderhub.util.UuidV7;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -26,36 +48,29 @@ import lombok.RequiredArgsConstructor;
 public class ProductService {
 
     private final ProductRepository productRepository;
-    private final RoleService roleService;
+    private final ProductListingRepository productListingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCache productCache;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final CatalogSnapshot catalogSnapshot;
+
+    private static final int MAX_SEARCH_LENGTH = 200;
+    private static final Sort.Order DEFAULT_LISTING_ORDER = Sort.Order.desc("createdAt");
 
     @Transactional
-    public CreatedResponse create(User user, CreateRequest req) {
+    public CreatedResponse create(AuthenticatedUser user, CreateRequest req) {
 
-        if (!roleService.verifyRole(user.getId(), "ADMIN")) {
-            throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
-        }
+        UUID id = productRepository.insertIfAbsent(
+                UuidV7.generate(), user.id(), req.name(), req.description(), req.price(), req.stock())
+            .orElseThrow(() -> new AppException(ErrorCode.DUPLICATED_RESOURCE, HttpStatus.CONFLICT));
 
-        if (productRepository.existsByNameAndOwnerId(req.name(), user.getId())) {
-            throw new AppException(ErrorCode.DUPLICATED_RESOURCE, HttpStatus.CONFLICT);
-        }
-
-        Product product = new Product();
-        product.setName(req.name());
-        product.setDescription(req.description());
-        product.setPrice(req.price());
-        product.setStock(req.stock());
-        product.setOwner(user);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
 
-        Product saved = productRepository.save(product);
-        return new CreatedResponse(saved.getId(), saved.getName(), saved.getDescription(), saved.getPrice(), product.getStatus());
+        return new CreatedResponse(id, req.name(), req.description(), req.price(), ProductStatus.active);
     }
 
     @Transactional
-    public CreatedResponse update(User user, UUID id, UpdateRequest req) {
-
-        if (!roleService.verifyRole(user.getId(), "ADMIN")) {
-            throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
-        }
+    public CreatedResponse update(AuthenticatedUser user, UUID id, UpdateRequest req) {
 
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new AppException(
@@ -63,7 +78,7 @@ public class ProductService {
                 HttpStatus.NOT_FOUND
             ));
 
-        if (!product.getOwner().getId().equals(user.getId())) {
+        if (!product.getOwner().getId().equals(user.id())) {
             throw new AppException(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
         }
 
@@ -72,7 +87,14 @@ public class ProductService {
         product.setPrice(req.price());
         product.setStatus(req.status());
 
-        Product updatedProduct = productRepository.save(product);
+        /* Flushed here so a rename onto another of the owner's names hits uk_products_owner_name now, not at commit */
+        Product updatedProduct;
+        try {
+            updatedProduct = productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            throw new AppException(ErrorCode.DUPLICATED_RESOURCE, HttpStatus.CONFLICT);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(updatedProduct.getId()));
 
         return new CreatedResponse(
             updatedProduct.getId(), 
@@ -83,41 +105,105 @@ public class ProductService {
         );
     }
 
-    @Transactional
-    public ProductResponse getById(UUID id) {
-        Product product = productRepository.findById(id)
-            .orElseThrow(() -> new AppException(ErrorCode.PRODUCT_NOT_FOUND, HttpStatus.NOT_FOUND));
+    /* No transaction: cache hits must not borrow a connection, misses try the snapshot file before the database */
+    public CachedProduct getById(UUID id) {
+        return productCache.byId(id, key -> catalogSnapshot.find(key)
+            .map(CatalogRow::toCached)
+            .orElseGet(() -> {
+                Product product = productRepository.findById(key)
+                    .orElseThrow(() -> new AppException(ErrorCode.PRODUCT_NOT_FOUND, HttpStatus.NOT_FOUND));
+
+                return new CachedProduct(product.getId(), product.getName(), product.getDescription(),
+                    product.getPrice(), product.getUpdatedAt());
+            }));
+    }
 
-        return new ProductResponse(
-            product.getId(), 
-            product.getName(), 
-            product.getDescription(), 
-            product.getPrice()
-        );
+    /* Cached entries first, one projection query for the rest; duplicates are answered twice */
+    public BatchProductResponse getByIds(List<UUID> ids) {
+
+        Map<UUID, CachedProduct> products = productCache.byIds(ids, missing -> productRepository
+            .findCachedByIdIn(missing).stream()
+            .collect(Collectors.toMap(CachedProduct::id, Function.identity())));
+
+        List<BatchProductResult> results = ids.stream()
+            .map(id -> products.containsKey(id)
+                ? BatchProductResult.found(products.get(id).toResponse())
+                : BatchProductResult.notFound(id))
+            .toList();
+
+        int found = (int) results.stream().filter(BatchProductResult::found).count();
+        return new BatchProductResponse(found, results.size() - found, results);
     }
 
-    @Transactional
-    public ProductResponse getByName(String name) {
+    /* Ranked full-text + fuzzy search over active products; no count, hasNext from one extra row */
+    public PageResponse<ProductResponse> search(String query, Pageable pageable) {
+
+        String q = query == null ? "" : query.strip();
+        if (q.isEmpty() || q.length() > MAX_SEARCH_LENGTH) {
+            throw new AppException(ErrorCode.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+        }
+
+        int size = pageable.getPageSize();
+        List<ProductSearchHit> hits = productRepository.search(q, size + 1, pageable.getOffset());
+        boolean hasNext = hits.size() > size;
+
+        List<ProductResponse> content = hits.stream()
+            .limit(size)
+            .map(hit -> new ProductResponse(hit.getId(), hit.getName(), hit.getDescription(), hit.getPrice()))
+            .toList();
+
+        return new PageResponse<>(content, pageable.getPageNumber(), size, hasNext, null, CountMode.none);
+    }
+
+    /* Served from memory on every keystroke; a blank prefix just has no suggestions */
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        return productSuggestIndex.suggest(prefix, limit).stream()
+            .map(suggestion -> new SuggestionResponse(suggestion.id(), suggestion.name()))
+            .toList();
+    }
 
-        Optional<Product> productExist = productRepository.findByName(name);
-        if (productExist.isEmpty()) {
-            throw new AppException(ErrorCode.PRODUCT_NOT_FOUND, HttpStatus.NOT_FOUND);
+    /* Unsorted listings are newest first; only sorts an index can serve are accepted */
+    public PageResponse<ProductResponse> getProducts(ProductFilter filter, Pageable pageable, CountMode countMode) {
+
+        if (filter.minPrice() != null && filter.maxPrice() != null && filter.minPrice().compareTo(filter.maxPrice()) > 0) {
+            throw new AppException(ErrorCode.INVALID_INPUT, HttpStatus.BAD_REQUEST);
         }
 
-        Product product = productExist.get();
+        Sort.Order order = listingOrder(pageable.getSort());
+        return productCache.page(filter, pageable, countMode, () -> loadProducts(filter, pageable, order, countMode));
+    }
 
-        return new ProductResponse(product.getId(), product.getName(), product.getDescription(), product.getPrice());
+    private Sort.Order listingOrder(Sort sort) {
+        if (sort.isUnsorted()) return DEFAULT_LISTING_ORDER;
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1 || !ProductListingRepository.SORTABLE.containsKey(orders.get(0).getProperty())) {
+            throw new AppException(ErrorCode.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+        }
+        return orders.get(0);
     }
 
-    public Page<ProductResponse> getProducts(Pageable pageable) {
+    /* Ids of the page from the index, then only those rows; a product deleted in between is dropped */
+    private PageResponse<ProductResponse> loadProducts(ProductFilter filter, Pageable pageable, Sort.Order order, CountMode countMode) {
+
+        int size = pageable.getPageSize();
+        List<UUID> ids = productListingRepository.findIds(filter, order, size + 1, pageable.getOffset());
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
+
+        Map<UUID, ProductResponse> rows = ids.isEmpty() ? Map.of() : productRepository.findResponsesByIdIn(ids).stream()
+            .collect(Collectors.toMap(ProductResponse::id, Function.identity()));
+        List<ProductResponse> content = ids.stream()
+            .map(rows::get)
+            .filter(Objects::nonNull)
+            .toList();
 
-        Page<Product> products = productRepository.findAll(pageable);
+        Long total = switch (countMode) {
+            case exact -> productListingRepository.count(filter);
+            case estimate -> productListingRepository.estimateCount(filter);
+            case none -> null;
+        };
 
-        return products.map(product -> new ProductResponse(
-            product.getId(),
-            product.getName(),
-            product.getDescription(),
-            product.getPrice()
-        ));
+        return new PageResponse<>(content, pageable.getPageNumber(), size, hasNext, total, countMode);
     }
 }
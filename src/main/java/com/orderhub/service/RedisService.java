@@ -2,18 +2,33 @@ package com.orderhub.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class RedisService {
 
+    static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
+    /* Redis runs a script without interleaving other commands, so only one caller can take a given token */
+    static final RedisScript<String> ROTATE = RedisScript.of("""
+        local userId = redis.call('GET', KEYS[1])
+        if userId then
+            redis.call('DEL', KEYS[1])
+            redis.call('SET', KEYS[2], userId, 'EX', ARGV[1])
+        end
+        return userId
+        """, String.class);
+
     private final StringRedisTemplate redisTemplate;
 
     public void save(String refreshToken, String userId) {
-        redisTemplate.opsForValue().set(refreshToken, userId, 7, TimeUnit.DAYS);
+        redisTemplate.opsForValue().set(refreshToken, userId, REFRESH_TOKEN_TTL.toSeconds(), TimeUnit.SECONDS);
     }
 
     public String get(String refreshToken) {
@@ -23,4 +38,10 @@ public class RedisService {
     public void delete(String refreshToken) {
         redisTemplate.delete(refreshToken);
     }
-}
\ No newline at end of file
+
+    /* Consumes refreshToken and stores newRefreshToken for the same user in one round trip; null if it was unknown or already used */
+    public String rotate(String refreshToken, String newRefreshToken) {
+        return redisTemplate.execute(ROTATE, List.of(refreshToken, newRefreshToken),
+            String.valueOf(REFRESH_TOKEN_TTL.toSeconds()));
+    }
+}
@@ -2,12 +2,14 @@ package com.orderhub.service;
 
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.orderhub.entity.Role;
 import com.orderhub.entity.User;
 import com.orderhub.entity.UserRole;
+import com.orderhub.event.UserRolesChangedEvent;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
 import com.orderhub.repository.RoleRepository;
@@ -24,10 +26,7 @@ public class RoleService {
     private final UserRoleRepository userRoleRepository;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-
-    public boolean verifyRole(UUID userId, String roleName) {
-        return userRoleRepository.existsByUserIdAndRoleName(userId, roleName);
-    }
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void associateRole(UUID userId, String roleName) {
@@ -38,7 +37,7 @@ public class RoleService {
         Role role = roleRepository.findByName(roleName)
             .orElseThrow(() -> new AppException(ErrorCode.INVALID_INPUT /* Evitar dizer que a role não existe */ , HttpStatus.NOT_FOUND));
         
-        if (this.verifyRole(userId, roleName)) {
+        if (userRoleRepository.existsByUserIdAndRoleName(userId, roleName)) {
             throw new AppException(ErrorCode.ASSOCIATION_ALREADY_EXISTS, HttpStatus.CONFLICT);
         }
 
@@ -47,16 +46,20 @@ public class RoleService {
         userRole.setRole(role);
 
         userRoleRepository.save(userRole);
+        userRepository.incrementTokenVersion(userId);
+        eventPublisher.publishEvent(new UserRolesChangedEvent(userId));
     }
 
     @Transactional
     public void unlinkRole(UUID userId, String roleName) {
         
-        if (!this.verifyRole(userId, roleName)) {
+        if (!userRoleRepository.existsByUserIdAndRoleName(userId, roleName)) {
             throw new AppException(ErrorCode.ASSOCIATION_DOES_NOT_EXISTS, HttpStatus.NOT_FOUND);
         }
 
         userRoleRepository.deleteByUserIdAndRoleName(userId, roleName);
+        userRepository.incrementTokenVersion(userId);
+        eventPublisher.publishEvent(new UserRolesChangedEvent(userId));
     }
 
 }
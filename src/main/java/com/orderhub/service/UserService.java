@@ -1,6 +1,5 @@
 package com.orderhub.service;
 
-import java.util.Optional;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
@@ -14,6 +13,7 @@ import com.orderhub.entity.User;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
 import com.orderhub.repository.UserRepository;
+import com.orderhub.util.UuidV7;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -30,11 +30,6 @@ public class UserService {
     @Transactional
     public User create(Register req) {
 
-        Optional<User> emailExist = userRepository.findByEmail(req.email());
-        if (emailExist.isPresent()) {
-            throw new AppException(ErrorCode.USR_ALREADY_EXISTS, HttpStatus.CONFLICT);
-        }
-
         /**
          * Has minimum 8 characters in length.
          * At least one uppercase English letter.
@@ -53,11 +48,16 @@ public class UserService {
 
         User user = new User();
 
+        user.setId(UuidV7.generate());
         user.setUsername(req.username());
         user.setEmail(req.email());
         user.setPasswordHash(passwordEncoder.encode(req.password()));
 
-        return userRepository.save(user);
+        /* The unique email decides, so two concurrent registrations cannot both pass a check */
+        userRepository.insertIfAbsent(user.getId(), user.getUsername(), user.getEmail(), user.getPasswordHash())
+            .orElseThrow(() -> new AppException(ErrorCode.USR_ALREADY_EXISTS, HttpStatus.CONFLICT));
+
+        return user;
     }
 
     @Transactional
@@ -0,0 +1,18 @@
+package com.orderhub.util;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/* Strong entity tags derived from the row id and its updated_at */
+public final class ETags {
+
+    private ETags() {}
+
+    public static String of(UUID id, Instant updatedAt) {
+        /* Microseconds: the precision Postgres keeps, so the tag survives a round trip through the DB */
+        long version = updatedAt == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        return "\"" + id + "-" + Long.toHexString(version) + "\"";
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.orderhub.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount held as a {@code long} count of minor units (cents), matching the
+ * {@code NUMERIC(12,2)} money columns. Used on the pricing hot path so line items can be
+ * summed without allocating a {@link BigDecimal} per operation; conversion happens only
+ * when reading from or writing to entities and responses.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    /* Largest value a NUMERIC(12,2) column can hold: 9,999,999,999.99 */
+    public static final long MAX_MINOR_UNITS = 999_999_999_999L;
+
+    public static final Money ZERO = new Money(0);
+
+    public Money {
+        if (minorUnits > MAX_MINOR_UNITS || minorUnits < -MAX_MINOR_UNITS) {
+            throw new ArithmeticException("Money amount exceeds NUMERIC(12,2): " + minorUnits);
+        }
+    }
+
+    public static Money of(BigDecimal amount) {
+        /* Prices are stored with scale 2; anything finer is a bug upstream, not something to round */
+        return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).movePointRight(SCALE).longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(minorUnits, (long) quantity));
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+}
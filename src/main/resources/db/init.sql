@@ -0,0 +1,24 @@
+-- Applied on every start after Hibernate's ddl-auto=update (spring.sql.init), so it must stay
+-- idempotent. Holds what Hibernate cannot derive from the entities; schema.sql is the reference.
+
+-- Product search: full-text over name + description, trigram similarity on name for typos
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+  setweight(to_tsvector('english', name), 'A') ||
+  setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING GIN (name gin_trgm_ops);
+
+-- Catalog listing: the default filter (active) gets partial indexes, one per sort order;
+-- price is included so price ranges are answered from the index alone
+CREATE INDEX IF NOT EXISTS idx_products_active_created ON products (created_at, id) INCLUDE (price) WHERE status = 'active';
+CREATE INDEX IF NOT EXISTS idx_products_active_price ON products (price, id) WHERE status = 'active';
+-- Listings by owner, and by the other statuses
+CREATE INDEX IF NOT EXISTS idx_products_owner_status_created ON products (owner_id, status, created_at, id) INCLUDE (price);
+CREATE INDEX IF NOT EXISTS idx_products_status_created ON products (status, created_at, id) INCLUDE (price);
+
+-- Units sold per product (autocomplete popularity); the order_items unique key leads with order_id
+CREATE INDEX IF NOT EXISTS idx_order_items_product ON order_items (product_id);
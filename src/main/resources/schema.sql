@@ -1,4 +1,5 @@
 CREATE EXTENSION IF NOT EXISTS pgcrypto;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
 
 CREATE TYPE product_status AS ENUM ('pending','active','disabled');
 CREATE TYPE order_status AS ENUM ('pending','canceled','paid');
@@ -10,6 +11,7 @@ CREATE TABLE users (
   email VARCHAR(255) NOT NULL UNIQUE,
   revoked BOOLEAN NOT NULL DEFAULT FALSE,
   is_active BOOLEAN NOT NULL DEFAULT TRUE,
+  token_version BIGINT NOT NULL DEFAULT 0,
   created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
   updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
 );
@@ -36,10 +38,28 @@ CREATE TABLE products (
   price NUMERIC(12,2) NOT NULL CHECK (price >= 0),
   stock INTEGER NOT NULL DEFAULT 0 CHECK (stock >= 0),
   status product_status NOT NULL DEFAULT 'active',
+  search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', name), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+  ) STORED,
   created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
-  updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  -- Arbiter of ON CONFLICT in product create and bulk import
+  CONSTRAINT uk_products_owner_name UNIQUE (owner_id, name)
 );
 
+-- Catalog listing: the default filter (active) gets partial indexes, one per sort order;
+-- price is included so price ranges are answered from the index alone
+CREATE INDEX idx_products_active_created ON products (created_at, id) INCLUDE (price) WHERE status = 'active';
+CREATE INDEX idx_products_active_price ON products (price, id) WHERE status = 'active';
+-- Listings by owner, and by the other statuses
+CREATE INDEX idx_products_owner_status_created ON products (owner_id, status, created_at, id) INCLUDE (price);
+CREATE INDEX idx_products_status_created ON products (status, created_at, id) INCLUDE (price);
+
+-- Product search: full-text over name + description, trigram similarity on name for typos
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+CREATE INDEX idx_products_name_trgm ON products USING GIN (name gin_trgm_ops);
+
 CREATE TABLE orders (
   id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
   user_id UUID NOT NULL REFERENCES users(id) ON DELETE RESTRICT,
@@ -59,6 +79,9 @@ CREATE TABLE order_items (
   CONSTRAINT unique_order_product UNIQUE (order_id, product_id)
 );
 
+-- Units sold per product (autocomplete popularity); the unique key above leads with order_id
+CREATE INDEX idx_order_items_product ON order_items (product_id);
+
 CREATE OR REPLACE FUNCTION trigger_set_timestamp()
 RETURNS TRIGGER AS $$
 BEGIN
@@ -0,0 +1,95 @@
+package com.orderhub.benchmark;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.orderhub.util.Money;
+
+/**
+ * Pricing loop of OrderService.buildOrder plus the subtotals read back by mapToOrderResponse,
+ * with BigDecimal arithmetic versus {@link Money}. Run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.orderhub.benchmark.OrderPricingBenchmark -Dexec.classpathScope=test}
+ * and compare {@code gc.alloc.rate.norm} (bytes per order) alongside the average time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int lineItems;
+
+    private BigDecimal[] prices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        prices = new BigDecimal[lineItems];
+        quantities = new int[lineItems];
+
+        for (int i = 0; i < lineItems; i++) {
+            prices[i] = BigDecimal.valueOf(random.nextLong(100, 500_000), 2);
+            quantities[i] = random.nextInt(1, 20);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal(Blackhole blackhole) {
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (int i = 0; i < lineItems; i++) {
+            BigDecimal subtotal = prices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            total = total.add(subtotal);
+            blackhole.consume(subtotal);
+        }
+
+        /* Previous mapToOrderResponse recomputed every subtotal */
+        for (int i = 0; i < lineItems; i++) {
+            blackhole.consume(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal money(Blackhole blackhole) {
+        Money total = Money.ZERO;
+
+        for (int i = 0; i < lineItems; i++) {
+            Money subtotal = Money.of(prices[i]).times(quantities[i]);
+            total = total.plus(subtotal);
+            blackhole.consume(subtotal.toBigDecimal());
+        }
+
+        return total.toBigDecimal();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(OrderPricingBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.orderhub.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.orderhub.service.RedisService;
+
+/**
+ * Refresh-token rotation as AuthService.refresh did it (GET, DEL, SET: three round trips)
+ * versus {@link RedisService#rotate} (one script call). Needs a Redis on {@code host}:{@code port};
+ * run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.orderhub.benchmark.RefreshRotationBenchmark -Dexec.classpathScope=test}
+ * and compare throughput; the gap grows with the network latency to Redis.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RefreshRotationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Redis {
+
+        @Param("localhost")
+        private String host;
+
+        @Param("6379")
+        private int port;
+
+        private LettuceConnectionFactory connectionFactory;
+        private RedisService redisService;
+
+        @Setup
+        public void connect() {
+            connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            redisService = new RedisService(new StringRedisTemplate(connectionFactory));
+        }
+
+        @TearDown
+        public void close() {
+            connectionFactory.destroy();
+        }
+    }
+
+    /* Each thread follows its own token chain, like one client refreshing over and over */
+    @State(Scope.Thread)
+    public static class Session {
+
+        private final String userId = UUID.randomUUID().toString();
+        private String token;
+
+        @Setup(Level.Iteration)
+        public void login(Redis redis) {
+            token = UUID.randomUUID().toString();
+            redis.redisService.save(token, userId);
+        }
+
+        @TearDown(Level.Iteration)
+        public void logout(Redis redis) {
+            redis.redisService.delete(token);
+        }
+    }
+
+    @Benchmark
+    public String threeRoundTrips(Redis redis, Session session) {
+        String newToken = UUID.randomUUID().toString();
+
+        String userId = redis.redisService.get(session.token);
+        redis.redisService.delete(session.token);
+        redis.redisService.save(newToken, userId);
+
+        session.token = newToken;
+        return userId;
+    }
+
+    @Benchmark
+    public String script(Redis redis, Session session) {
+        String newToken = UUID.randomUUID().toString();
+
+        String userId = redis.redisService.rotate(session.token, newToken);
+
+        session.token = newToken;
+        return userId;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RefreshRotationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class CatalogResponseCacheTest {
+
+    private static final String BODY = "{\"content\":[{\"name\":\"P1\"}],\"page\":0,\"size\":20,\"hasNext\":false}";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private InMemoryInvalidationBus bus;
+    private CatalogResponseCache cache;
+
+    /* Stands in for the controller: counts calls and answers like the listing endpoint */
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            calls.incrementAndGet();
+            resp.setContentType("application/json");
+            resp.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=60, public");
+            resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryInvalidationBus();
+        cache = new CatalogResponseCache(bus, new SimpleMeterRegistry(), 1 << 20, Duration.ofMinutes(1));
+        cache.subscribe();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated anonymous listing from cache, gzipped when accepted")
+    void repeatedRequest_ServedFromCache() throws Exception {
+        MockHttpServletResponse first = get("page=0&size=20", "gzip, deflate");
+        MockHttpServletResponse second = get("page=0&size=20", "gzip, deflate");
+
+        assertThat(calls).hasValue(1);
+        assertThat(first.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(second.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=60, public");
+        assertThat(gunzip(second.getContentAsByteArray())).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should inflate for clients without gzip")
+    void noGzip_Inflated() throws Exception {
+        get("page=0", null);
+        MockHttpServletResponse hit = get("page=0", "identity");
+
+        assertThat(calls).hasValue(1);
+        assertThat(hit.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(hit.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should share an entry between queries that differ only in parameter order")
+    void parameterOrder_Normalized() throws Exception {
+        get("size=20&page=0", null);
+        get("page=0&size=20", null);
+        get("page=1&size=20", null);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should stop serving cached pages once any product changes")
+    void productChange_BumpsVersion() throws Exception {
+        get("page=0", null);
+        bus.publish(UUID.randomUUID());
+        get("page=0", null);
+        bus.publishCatalogChanged();
+        get("page=0", null);
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should never cache authenticated requests")
+    void authenticated_Bypassed() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated("user", null, List.of()));
+
+        get("page=0", null);
+        get("page=0", null);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should keep values with separators apart and honour q=0 for gzip")
+    void helpers() {
+        assertThat(CatalogResponseCache.normalize(Map.of("sort", new String[] {"price,asc", "createdAt"})))
+            .isNotEqualTo(CatalogResponseCache.normalize(Map.of("sort", new String[] {"price", "asc,createdAt"})));
+        assertThat(CatalogResponseCache.acceptsGzip("br, gzip;q=0.8")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("deflate")).isFalse();
+    }
+
+    private MockHttpServletResponse get(String query, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", CatalogResponseCache.PATH);
+        request.setQueryString(query);
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            request.addParameter(parts[0], parts[1]);
+        }
+        if (acceptEncoding != null) request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.orderhub.enums.ProductStatus;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private final Instant watermark = Instant.parse("2025-03-01T12:00:00.123456Z");
+
+    /* Postgres order: the id with the high bit set sorts last, unlike UUID.compareTo */
+    private final CatalogRow first = row("00000000-0000-7000-8000-000000000001", "Keyboard", "Mechanical", "99.90");
+    private final CatalogRow second = row("0190f1c2-0000-7000-8000-000000000002", "Café ☕", null, "3.50");
+    private final CatalogRow last = row("f190f1c2-0000-7000-8000-000000000003", "Mouse", "Wireless\tmouse", "25.00");
+
+    @Test
+    @DisplayName("Should find every written row and nothing else")
+    void writeAndFind() throws IOException {
+        Path path = write(List.of(first, second, last));
+
+        try (CatalogSnapshotFile file = CatalogSnapshotFile.open(path)) {
+            assertThat(file.size()).isEqualTo(3);
+            assertThat(file.watermark()).isEqualTo(watermark);
+            assertThat(file.find(first.id())).contains(first);
+            assertThat(file.find(second.id())).contains(second);
+            assertThat(file.find(last.id())).contains(last);
+            assertThat(file.find(UUID.randomUUID())).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse rows out of id order")
+    void write_Unsorted() throws IOException {
+        try (CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(directory.resolve("catalog.snapshot"), watermark)) {
+            writer.add(last);
+            assertThatThrownBy(() -> writer.add(first)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a complete snapshot")
+    void open_Corrupted() throws IOException {
+        Path path = write(List.of(first, second, last));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, CatalogSnapshotFile.HEADER_BYTES + CatalogSnapshotFile.ROW_BYTES));
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.open(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Should replace the previous file and leave no temporary files behind")
+    void write_Replaces() throws IOException {
+        write(List.of(first, second, last));
+        Path path = write(List.of(second));
+
+        try (CatalogSnapshotFile file = CatalogSnapshotFile.open(path)) {
+            assertThat(file.size()).isEqualTo(1);
+            assertThat(file.find(first.id())).isEmpty();
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    private Path write(List<CatalogRow> rows) throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(path, watermark)) {
+            for (CatalogRow row : rows) writer.add(row);
+            writer.commit();
+        }
+        return path;
+    }
+
+    private CatalogRow row(String id, String name, String description, String price) {
+        return new CatalogRow(UUID.fromString(id), name, description, new BigDecimal(price), 7,
+            ProductStatus.active, Instant.parse("2025-02-01T08:30:00.654321Z"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final InMemoryInvalidationBus invalidationBus = new InMemoryInvalidationBus();
+    private CatalogSnapshot snapshot;
+
+    private final UUID unchanged = UUID.fromString("00000000-0000-7000-8000-000000000001");
+    private final UUID changedSinceWrite = UUID.fromString("00000000-0000-7000-8000-000000000002");
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(path, Instant.now())) {
+            writer.add(row(unchanged));
+            writer.add(row(changedSinceWrite));
+            writer.commit();
+        }
+
+        when(productRepository.findIdsUpdatedSince(any())).thenReturn(List.of(changedSinceWrite));
+        snapshot = new CatalogSnapshot(productRepository, invalidationBus, path.toString(), Duration.ofMinutes(2));
+        snapshot.load();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        snapshot.close();
+    }
+
+    @Test
+    @DisplayName("Should serve rows unchanged since the watermark and hide the delta")
+    void find_SkipsDelta() {
+        assertThat(snapshot.isLoaded()).isTrue();
+        assertThat(snapshot.find(unchanged)).isPresent();
+        assertThat(snapshot.find(changedSinceWrite)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hide a product as soon as any instance reports a change")
+    void find_SkipsLaterChanges() {
+        invalidationBus.publish(unchanged);
+
+        assertThat(snapshot.find(unchanged)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop serving from the file after a catalog-wide change")
+    void catalogChanged_Discards() {
+        invalidationBus.publishCatalogChanged();
+
+        assertThat(snapshot.isLoaded()).isFalse();
+        assertThat(snapshot.find(unchanged)).isEmpty();
+    }
+
+    private CatalogRow row(UUID id) {
+        return new CatalogRow(id, "Product", null, new BigDecimal("1.00"), 1, ProductStatus.active, Instant.now());
+    }
+}
@@ -0,0 +1,33 @@
+package com.orderhub.cache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/* Synchronous stand-in for Redis pub/sub: every subscriber, sender included, gets each message */
+public class InMemoryInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> catalogListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UUID productId) {
+        listeners.forEach(listener -> listener.accept(productId));
+    }
+
+    @Override
+    public void subscribe(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void publishCatalogChanged() {
+        catalogListeners.forEach(Runnable::run);
+    }
+
+    @Override
+    public void subscribeCatalogChanged(Runnable listener) {
+        catalogListeners.add(listener);
+    }
+}
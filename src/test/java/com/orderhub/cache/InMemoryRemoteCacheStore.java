@@ -0,0 +1,37 @@
+package com.orderhub.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Stands in for Redis in tests; share one instance between nodes to model a common L2 */
+public class InMemoryRemoteCacheStore implements RemoteCacheStore {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    @Override
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        values.put(key, value);
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value, Duration ttl) {
+        boolean[] written = {false};
+        values.compute(key, (k, current) -> {
+            if (!Objects.equals(current, expected)) return current;
+            written[0] = true;
+            return value;
+        });
+        return written[0];
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,100 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.event.ProductChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Three application contexts in one JVM, each with its own L1, sharing one L2 and one
+ * invalidation bus the way instances share Redis. An update on one node must be visible
+ * on every node at the next read.
+ */
+class ProductCacheConsistencyTest {
+
+    private final InMemoryRemoteCacheStore sharedStore = new InMemoryRemoteCacheStore();
+    private final InMemoryInvalidationBus sharedBus = new InMemoryInvalidationBus();
+
+    /* The "database" */
+    private final Map<UUID, CachedProduct> products = new ConcurrentHashMap<>();
+
+    private final List<AnnotationConfigApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+            context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+            context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+            context.registerBean(ObjectMapper.class, () -> new ObjectMapper().findAndRegisterModules());
+            context.registerBean(RemoteCacheStore.class, () -> sharedStore);
+            context.registerBean(InvalidationBus.class, () -> sharedBus);
+            context.register(ProductCache.class);
+            context.refresh();
+            nodes.add(context);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("Should serve the new price on every node right after an update on one of them")
+    void update_VisibleOnAllNodes() {
+        UUID id = UUID.randomUUID();
+        products.put(id, product(id, "Keyboard", "100.00"));
+
+        /* Warm L1 on every node and L2 */
+        nodes.forEach(node -> assertThat(read(node, id).price()).isEqualByComparingTo("100.00"));
+
+        /* Node 0 commits a new price */
+        products.put(id, product(id, "Keyboard", "80.00"));
+        nodes.get(0).publishEvent(new ProductChangedEvent(id));
+
+        nodes.forEach(node -> assertThat(read(node, id).price()).isEqualByComparingTo("80.00"));
+    }
+
+    @Test
+    @DisplayName("Should let a cold node read from L2 instead of the database")
+    void coldNode_ReadsRemoteTier() {
+        UUID id = UUID.randomUUID();
+        products.put(id, product(id, "Mouse", "25.00"));
+
+        read(nodes.get(0), id);
+        read(nodes.get(1), id);
+        read(nodes.get(2), id);
+
+        double loads = nodes.stream()
+            .mapToDouble(node -> node.getBean(MeterRegistry.class).get("cache.loads").tag("cache", "products.byId.v2").counter().count())
+            .sum();
+        assertThat(loads).isEqualTo(1);
+    }
+
+    private CachedProduct product(UUID id, String name, String price) {
+        return new CachedProduct(id, name, null, new BigDecimal(price), Instant.now());
+    }
+
+    private CachedProduct read(AnnotationConfigApplicationContext node, UUID id) {
+        return node.getBean(ProductCache.class).byId(id, products::get);
+    }
+}
@@ -0,0 +1,134 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.dto.common.response.PageResponse;
+import com.orderhub.dto.product.response.ProductResponse;
+import com.orderhub.enums.CountMode;
+import com.orderhub.event.ProductChangedEvent;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+import com.orderhub.repository.ProductFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryRemoteCacheStore remoteStore;
+    private ProductCache cache;
+
+    private static final Instant UPDATED_AT = Instant.parse("2025-03-01T12:00:00.123456Z");
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remoteStore = new InMemoryRemoteCacheStore();
+        cache = new ProductCache(meterRegistry, remoteStore, new InMemoryInvalidationBus(), new ObjectMapper().findAndRegisterModules(),
+            100, Duration.ofMinutes(1), Duration.ofMinutes(10), 2, 0);
+    }
+
+    @Test
+    @DisplayName("Should load once and publish hit and miss counts")
+    void byId_HitMissMetrics() {
+        UUID id = UUID.randomUUID();
+
+        cache.byId(id, this::load);
+        cache.byId(id, this::load);
+        cache.byId(id, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "products.byId.v2", "result", "hit").functionCounter().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "products.byId.v2", "result", "miss").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fill L1 from L2 without calling the loader")
+    void byId_RemoteTier() {
+        UUID id = UUID.randomUUID();
+        cache.byId(id, this::load);
+
+        ProductCache otherNode = new ProductCache(meterRegistry, remoteStore, new InMemoryInvalidationBus(), new ObjectMapper().findAndRegisterModules(),
+            100, Duration.ofMinutes(1), Duration.ofMinutes(10), 2, 0);
+        CachedProduct product = otherNode.byId(id, this::load);
+
+        assertThat(product.price()).isEqualByComparingTo("10");
+        assertThat(product.updatedAt()).isEqualTo(UPDATED_AT);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.l2.gets").tags("cache", "products.byId.v2", "result", "hit").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.loads").tags("cache", "products.byId.v2").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache lookups that fail")
+    void byId_LoaderFailure() {
+        UUID id = UUID.randomUUID();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.byId(id, key -> {
+                loads.incrementAndGet();
+                throw new AppException(ErrorCode.PRODUCT_NOT_FOUND, HttpStatus.NOT_FOUND);
+            })).isInstanceOf(AppException.class);
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should cache only the first pages of the listing")
+    void page_OnlyFirstPages() {
+        for (int i = 0; i < 2; i++) {
+            cache.page(ProductFilter.active(), PageRequest.of(0, 20), CountMode.none, this::loadPage);
+            cache.page(ProductFilter.active(), PageRequest.of(5, 20), CountMode.none, this::loadPage);
+        }
+
+        /* Page 0 loaded once, page 5 (beyond cached-pages) on every call */
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should evict id and pages when a product changes")
+    void onProductChanged_Evicts() {
+        UUID id = UUID.randomUUID();
+        cache.byId(id, this::load);
+        cache.page(ProductFilter.active(), PageRequest.of(0, 20), CountMode.none, this::loadPage);
+
+        cache.onProductChanged(new ProductChangedEvent(id));
+        assertThat(remoteStore.get("cache:products.byId.v2:" + id)).startsWith(TwoLevelCache.TOMBSTONE);
+
+        cache.byId(id, this::load);
+        cache.page(ProductFilter.active(), PageRequest.of(0, 20), CountMode.none, this::loadPage);
+        assertThat(loads).hasValue(4);
+    }
+
+    private CachedProduct load(UUID id) {
+        loads.incrementAndGet();
+        return new CachedProduct(id, "Product", null, BigDecimal.TEN, UPDATED_AT);
+    }
+
+    private PageResponse<ProductResponse> loadPage() {
+        loads.incrementAndGet();
+        return new PageResponse<>(List.of(), 0, 20, false, null, CountMode.none);
+    }
+}
@@ -0,0 +1,152 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.event.ProductChangedEvent;
+import com.orderhub.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSnapshotCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    private InMemoryInvalidationBus invalidationBus;
+    private ProductSnapshotCache cache;
+
+    private final Instant v1 = Instant.parse("2025-01-01T10:00:00Z");
+    private final Instant v2 = Instant.parse("2025-01-01T11:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        invalidationBus = new InMemoryInvalidationBus();
+        cache = new ProductSnapshotCache(productRepository, invalidationBus, catalogSnapshot);
+        cache.subscribe();
+    }
+
+    @Test
+    @DisplayName("Should serve current snapshots with a single version query")
+    void current_Hit() {
+        ProductSnapshot snapshot = snapshot(UUID.randomUUID(), "10.00", v1);
+        cache.putAll(List.of(snapshot));
+        when(productRepository.findVersionsByIdIn(anyCollection()))
+            .thenReturn(List.of(new ProductVersion(snapshot.id(), v1)));
+
+        Map<UUID, ProductSnapshot> current = cache.current(List.of(snapshot.id()));
+
+        assertThat(current).containsEntry(snapshot.id(), snapshot);
+        verify(productRepository, never()).findSnapshotsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reload stale and missing snapshots and drop ids that no longer exist")
+    void current_StaleAndMissing() {
+        UUID staleId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        cache.putAll(List.of(snapshot(staleId, "10.00", v1), snapshot(deletedId, "1.00", v1)));
+
+        ProductSnapshot freshStale = snapshot(staleId, "12.00", v2);
+        ProductSnapshot freshMissing = snapshot(missingId, "3.00", v1);
+        when(productRepository.findVersionsByIdIn(anyCollection())).thenReturn(List.of(
+            new ProductVersion(staleId, v2), new ProductVersion(missingId, v1)));
+        when(productRepository.findSnapshotsByIdIn(List.of(staleId, missingId)))
+            .thenReturn(List.of(freshStale, freshMissing));
+
+        Map<UUID, ProductSnapshot> current = cache.current(List.of(staleId, missingId, deletedId));
+
+        assertThat(current).containsOnlyKeys(staleId, missingId);
+        assertThat(current.get(staleId).price()).isEqualByComparingTo("12.00");
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should take misses from the mapped catalog file when its version is current")
+    void current_FromCatalogFile() {
+        UUID fileHit = UUID.randomUUID();
+        UUID fileStale = UUID.randomUUID();
+        when(catalogSnapshot.find(fileHit)).thenReturn(Optional.of(
+            new CatalogRow(fileHit, "Product", null, new BigDecimal("5.00"), 1, ProductStatus.active, v1)));
+        when(catalogSnapshot.find(fileStale)).thenReturn(Optional.of(
+            new CatalogRow(fileStale, "Product", null, new BigDecimal("5.00"), 1, ProductStatus.active, v1)));
+        when(productRepository.findVersionsByIdIn(anyCollection())).thenReturn(List.of(
+            new ProductVersion(fileHit, v1), new ProductVersion(fileStale, v2)));
+        when(productRepository.findSnapshotsByIdIn(List.of(fileStale)))
+            .thenReturn(List.of(snapshot(fileStale, "6.00", v2)));
+
+        Map<UUID, ProductSnapshot> current = cache.current(List.of(fileHit, fileStale));
+
+        assertThat(current.get(fileHit).price()).isEqualByComparingTo("5.00");
+        assertThat(current.get(fileStale).price()).isEqualByComparingTo("6.00");
+    }
+
+    @Test
+    @DisplayName("Should skip the full preload when a catalog file is mapped")
+    void warmUp_SkippedWithCatalogFile() {
+        when(catalogSnapshot.isLoaded()).thenReturn(true);
+
+        cache.warmUp();
+
+        verify(productRepository, never()).findSnapshotsByStatus(ProductStatus.active);
+    }
+
+    @Test
+    @DisplayName("Should not replace a newer snapshot with an older one")
+    void putAll_KeepsNewest() {
+        UUID id = UUID.randomUUID();
+        cache.putAll(List.of(snapshot(id, "12.00", v2)));
+        cache.putAll(List.of(snapshot(id, "10.00", v1)));
+
+        when(productRepository.findVersionsByIdIn(anyCollection())).thenReturn(List.of(new ProductVersion(id, v2)));
+
+        assertThat(cache.current(List.of(id)).get(id).price()).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    @DisplayName("Should evict when a product changes on this instance")
+    void onProductChanged_Evicts() {
+        UUID id = UUID.randomUUID();
+        cache.putAll(List.of(snapshot(id, "10.00", v1)));
+
+        cache.onProductChanged(new ProductChangedEvent(id));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict when another instance broadcasts a change")
+    void invalidationBus_Evicts() {
+        UUID id = UUID.randomUUID();
+        cache.putAll(List.of(snapshot(id, "10.00", v1)));
+
+        invalidationBus.publish(id);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private ProductSnapshot snapshot(UUID id, String price, Instant updatedAt) {
+        return new ProductSnapshot(id, "Product", new BigDecimal(price), ProductStatus.active, updatedAt);
+    }
+}
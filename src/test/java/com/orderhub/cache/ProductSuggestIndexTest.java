@@ -0,0 +1,93 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.orderhub.cache.ProductSuggestIndex.Suggestion;
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private InMemoryInvalidationBus invalidationBus;
+    private ProductSuggestIndex index;
+
+    private final ProductSuggestion keyboard = row("Keyboard", 50);
+    private final ProductSuggestion keyboardTkl = row("Keyboard TKL", 80);
+    private final ProductSuggestion keycap = row("Keycap Set", 10);
+    private final ProductSuggestion mouse = row("Mouse", 500);
+
+    @BeforeEach
+    void setUp() {
+        invalidationBus = new InMemoryInvalidationBus();
+        /* Top 3 results, compaction after 3 changes */
+        index = new ProductSuggestIndex(productRepository, invalidationBus, 3, 3);
+        index.subscribe();
+
+        when(productRepository.findSuggestionsByStatus(ProductStatus.active))
+            .thenReturn(List.of(mouse, keycap, keyboardTkl, keyboard));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank matches by popularity for short and long prefixes alike")
+    void suggest_RankedByPopularity() {
+        assertThat(names(index.suggest("k", 10))).containsExactly("Keyboard TKL", "Keyboard", "Keycap Set");
+        assertThat(names(index.suggest("KEYB", 10))).containsExactly("Keyboard TKL", "Keyboard");
+        assertThat(names(index.suggest("keyboard ", 10))).containsExactly("Keyboard TKL", "Keyboard");
+        assertThat(index.suggest("x", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cap results at the requested limit")
+    void suggest_Limit() {
+        assertThat(names(index.suggest("ke", 1))).containsExactly("Keyboard TKL");
+    }
+
+    @Test
+    @DisplayName("Should reflect created, renamed and disabled products before compaction")
+    void refresh_Overlay() {
+        ProductSuggestion created = row("Keypad", 0);
+        ProductSuggestion renamed = new ProductSuggestion(mouse.id(), "Keyboard Mouse Combo", 500);
+        when(productRepository.findSuggestionByIdAndStatus(created.id(), ProductStatus.active)).thenReturn(Optional.of(created));
+        when(productRepository.findSuggestionByIdAndStatus(mouse.id(), ProductStatus.active)).thenReturn(Optional.of(renamed));
+
+        invalidationBus.publish(created.id());
+        invalidationBus.publish(mouse.id());
+
+        assertThat(names(index.suggest("key", 10))).containsExactly("Keyboard Mouse Combo", "Keyboard TKL", "Keyboard");
+        assertThat(index.suggest("mou", 10)).isEmpty();
+
+        when(productRepository.findSuggestionByIdAndStatus(keyboardTkl.id(), ProductStatus.active)).thenReturn(Optional.empty());
+        invalidationBus.publish(keyboardTkl.id());
+
+        /* Third change crossed the threshold: folded into the sorted array */
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(names(index.suggest("k", 10))).containsExactly("Keyboard Mouse Combo", "Keyboard", "Keycap Set");
+        assertThat(names(index.suggest("keyp", 10))).containsExactly("Keypad");
+    }
+
+    private static ProductSuggestion row(String name, long popularity) {
+        return new ProductSuggestion(UUID.randomUUID(), name, popularity);
+    }
+
+    private static List<String> names(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::name).toList();
+    }
+}
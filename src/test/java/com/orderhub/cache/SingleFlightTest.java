@@ -0,0 +1,75 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+
+import org.springframework.http.HttpStatus;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should run one load for many concurrent callers of the same key")
+    void execute_Coalesces() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 100;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("hot", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+
+            /* Let every caller reach the in-flight load before it completes */
+            while (!singleFlight.isInFlight("hot")) Thread.onSpinWait();
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.isInFlight("hot")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hand the loader's exception to the caller and keep nothing afterwards")
+    void execute_Failure() {
+        assertThatThrownBy(() -> singleFlight.execute("missing", () -> {
+            throw new AppException(ErrorCode.PRODUCT_NOT_FOUND, HttpStatus.NOT_FOUND);
+        })).isInstanceOf(AppException.class);
+
+        assertThat(singleFlight.execute("missing", () -> "found")).isEqualTo("found");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.orderhub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TwoLevelCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("XFetch should never fire far from expiry and always fire past it")
+    void shouldRefreshEarly_Bounds() {
+        long second = 1_000_000_000L;
+        long loadNanos = 5_000_000L;
+
+        assertThat(TwoLevelCache.shouldRefreshEarly(0, loadNanos, 60 * second, 1.0, 0.01)).isFalse();
+        assertThat(TwoLevelCache.shouldRefreshEarly(61 * second, loadNanos, 60 * second, 1.0, 0.99)).isTrue();
+        assertThat(TwoLevelCache.shouldRefreshEarly(61 * second, loadNanos, 60 * second, 0, 0.01)).isFalse();
+    }
+
+    @Test
+    @DisplayName("XFetch should fire earlier for loads that are expensive")
+    void shouldRefreshEarly_CostlyLoads() {
+        long expiresAt = 60_000_000_000L;
+        long now = expiresAt - 100_000_000L;
+
+        assertThat(TwoLevelCache.shouldRefreshEarly(now, 1_000_000L, expiresAt, 1.0, 0.5)).isFalse();
+        assertThat(TwoLevelCache.shouldRefreshEarly(now, 500_000_000L, expiresAt, 1.0, 0.5)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should serve the cached value and refresh it in the background when XFetch fires")
+    void get_EarlyRefresh() {
+        /* A huge beta makes every hit eligible for refresh */
+        TwoLevelCache<String, String> cache = cache(1e12);
+
+        assertThat(cache.get("k", this::load)).isEqualTo("v1");
+        assertThat(cache.get("k", this::load)).isEqualTo("v1");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> loads.get() >= 2);
+        await().atMost(Duration.ofSeconds(5)).until(() -> !cache.get("k", this::load).equals("v1"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a value whose load overlapped an eviction")
+    void get_EvictionDuringLoad() {
+        TwoLevelCache<String, String> cache = cache(0);
+
+        String value = cache.get("k", key -> {
+            cache.evictLocal(key);
+            return load(key);
+        });
+
+        assertThat(value).isEqualTo("v1");
+        assertThat(cache.get("k", this::load)).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should still cache a load that overlapped the eviction of another key")
+    void get_EvictionOfOtherKeyDuringLoad() {
+        TwoLevelCache<String, String> cache = cache(0);
+
+        cache.get("k", key -> {
+            cache.evictLocal("other");
+            return load(key);
+        });
+
+        assertThat(cache.get("k", this::load)).isEqualTo("v1");
+    }
+
+    @Test
+    @DisplayName("Should not write a stale load back to L2 after another node evicted the key")
+    void get_StaleWriteBackAfterRemoteEviction() {
+        InMemoryRemoteCacheStore remote = new InMemoryRemoteCacheStore();
+        TwoLevelCache<String, String> writer = cache(0, remote);
+        TwoLevelCache<String, String> reader = cache(0, remote);
+
+        /* The reader's database read happens before the writer's commit and eviction */
+        String value = reader.get("k", key -> {
+            writer.evict(key);
+            return "old";
+        });
+
+        assertThat(value).isEqualTo("old");
+        assertThat(remote.get("cache:test:k")).startsWith(TwoLevelCache.TOMBSTONE);
+        assertThat(cache(0, remote).get("k", key -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("Should serve a multi-get from L1, then L2, then one bulk load for the rest")
+    void getAll_Tiers() {
+        InMemoryRemoteCacheStore remote = new InMemoryRemoteCacheStore();
+        TwoLevelCache<String, String> cache = cache(0, remote);
+        TwoLevelCache<String, String> otherNode = cache(0, remote);
+
+        cache.get("a", key -> "A");
+        otherNode.get("b", key -> "B");
+
+        List<Set<String>> bulkLoads = new ArrayList<>();
+        Map<String, String> values = cache.getAll(List.of("a", "b", "c", "missing"), keys -> {
+            bulkLoads.add(Set.copyOf(keys));
+            return Map.of("c", "C");
+        });
+
+        assertThat(values).containsExactlyInAnyOrderEntriesOf(Map.of("a", "A", "b", "B", "c", "C"));
+        assertThat(bulkLoads).containsExactly(Set.of("c", "missing"));
+        assertThat(remote.get("cache:test:c")).isEqualTo("\"C\"");
+
+        /* Everything found is now in L1 */
+        cache.getAll(List.of("a", "b", "c"), keys -> {
+            throw new AssertionError("unexpected load of " + keys);
+        });
+    }
+
+    private TwoLevelCache<String, String> cache(double beta) {
+        return cache(beta, new InMemoryRemoteCacheStore());
+    }
+
+    private TwoLevelCache<String, String> cache(double beta, RemoteCacheStore remote) {
+        return new TwoLevelCache<>("test", String.class, 100, Duration.ofMinutes(1), Duration.ofMinutes(10), beta,
+            remote, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private String load(String key) {
+        return "v" + loads.incrementAndGet();
+    }
+}
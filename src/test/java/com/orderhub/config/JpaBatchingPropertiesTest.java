@@ -0,0 +1,36 @@
+package com.orderhub.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+class JpaBatchingPropertiesTest {
+
+    private static Properties properties;
+
+    @BeforeAll
+    static void load() throws IOException {
+        properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+    }
+
+    @Test
+    @DisplayName("Should batch JDBC statements in Hibernate")
+    void hibernateBatching() {
+        assertThat(Integer.parseInt(properties.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size")))
+            .isGreaterThan(1);
+        assertThat(properties.getProperty("spring.jpa.properties.hibernate.order_inserts")).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Should let the Postgres driver rewrite batches into multi-row inserts")
+    void driverRewritesBatches() {
+        assertThat(properties.getProperty("spring.datasource.url")).contains("reWriteBatchedInserts=true");
+    }
+}
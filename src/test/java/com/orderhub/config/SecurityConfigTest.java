@@ -0,0 +1,36 @@
+package com.orderhub.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+class SecurityConfigTest {
+
+    @Test
+    @DisplayName("Should grant ROLE_* authorities from the token's roles claim only")
+    void rolesClaim_MappedToAuthorities() {
+        Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject(UUID.randomUUID().toString())
+            .claim("roles", List.of("ADMIN", "USER"))
+            .claim("scope", "USER")
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(60))
+            .build();
+
+        AbstractAuthenticationToken authentication = new SecurityConfig(null).jwtAuthenticationConverter().convert(jwt);
+
+        assertThat(authentication.getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        assertThat(authentication.getPrincipal()).isSameAs(jwt);
+    }
+}
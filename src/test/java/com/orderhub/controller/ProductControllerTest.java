@@ -0,0 +1,69 @@
+package com.orderhub.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.orderhub.cache.CachedProduct;
+import com.orderhub.service.ProductService;
+import com.orderhub.util.ETags;
+
+@ExtendWith(MockitoExtension.class)
+class ProductControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private ProductController productController;
+
+    private final UUID productId = UUID.randomUUID();
+    private final Instant updatedAt = Instant.parse("2025-03-01T12:00:00.123456Z");
+    private final String etag = ETags.of(productId, updatedAt);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(productController).build();
+        when(productService.getById(productId))
+            .thenReturn(new CachedProduct(productId, "Keyboard", "Mechanical", new BigDecimal("99.90"), updatedAt));
+    }
+
+    @Test
+    @DisplayName("Should return the product with its ETag and a public Cache-Control")
+    void getById_Full() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", productId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")))
+            .andExpect(jsonPath("$.name").value("Keyboard"));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 with no body when the ETag matches")
+    void getById_NotModified() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+}
@@ -0,0 +1,108 @@
+package com.orderhub.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.orderhub.entity.Product;
+import com.orderhub.entity.User;
+import com.orderhub.enums.ProductStatus;
+
+/**
+ * Stages rows over COPY and merges them into a real Postgres, inside the test's transaction as
+ * ProductImportService does. Needs Docker; skipped without it.
+ */
+@Tag("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductImportRepositoryMergeTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    /* Only JPA: the application class also binds the JWT keys, which tests do not have */
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackageClasses = Product.class)
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    @Import(ProductImportRepository.class)
+    static class JpaOnly {}
+
+    @Autowired
+    private ProductImportRepository productImportRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setUsername("seller");
+        owner.setPasswordHash("hash");
+        owner.setEmail("seller@orderhub.test");
+        userRepository.save(owner);
+
+        Product existing = new Product();
+        existing.setOwner(owner);
+        existing.setName("Existing");
+        existing.setPrice(new BigDecimal("5.00"));
+        productRepository.saveAndFlush(existing);
+    }
+
+    @Test
+    @DisplayName("Should merge staged rows as active products with timestamps, skipping repeated and existing names")
+    void stageAndMerge() {
+        long staged = productImportRepository.stage(sink -> {
+            sink.accept(new StagedProduct(1, UUID.randomUUID(), "Lamp", "Tab\tand\nnewline", new BigDecimal("10.00"), 3));
+            sink.accept(new StagedProduct(2, UUID.randomUUID(), "Desk", null, new BigDecimal("99.90"), 1));
+            sink.accept(new StagedProduct(3, UUID.randomUUID(), "Lamp", null, new BigDecimal("12.00"), 7));
+            sink.accept(new StagedProduct(4, UUID.randomUUID(), "Existing", null, new BigDecimal("6.00"), 2));
+        });
+
+        int merged = productImportRepository.merge(owner.getId());
+
+        assertThat(staged).isEqualTo(4);
+        assertThat(merged).isEqualTo(2);
+
+        List<Product> products = productRepository.findAll();
+        assertThat(products).extracting(Product::getName).containsExactlyInAnyOrder("Existing", "Lamp", "Desk");
+        assertThat(products).allSatisfy(product -> {
+            assertThat(product.getStatus()).isEqualTo(ProductStatus.active);
+            assertThat(product.getCreatedAt()).isNotNull();
+            assertThat(product.getUpdatedAt()).isNotNull();
+        });
+        assertThat(products).filteredOn(product -> product.getName().equals("Lamp")).singleElement()
+            .satisfies(lamp -> {
+                assertThat(lamp.getPrice()).isEqualByComparingTo("10.00");
+                assertThat(lamp.getDescription()).isEqualTo("Tab\tand\nnewline");
+            });
+        assertThat(products).filteredOn(product -> product.getName().equals("Existing")).singleElement()
+            .satisfies(existing -> assertThat(existing.getPrice()).isEqualByComparingTo("5.00"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.orderhub.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductImportRepositoryTest {
+
+    @Test
+    @DisplayName("Should escape COPY text-format control characters and write null as \\N")
+    void appendRow_Escaping() {
+        UUID id = UUID.randomUUID();
+        StringBuilder buffer = new StringBuilder();
+
+        ProductImportRepository.appendRow(buffer,
+            new StagedProduct(7, id, "Tab\there", "Line\nbreak and back\\slash", new BigDecimal("10.50"), 3));
+        ProductImportRepository.appendRow(buffer,
+            new StagedProduct(8, id, "Plain", null, new BigDecimal("1E+1"), 0));
+
+        assertThat(buffer.toString()).isEqualTo(
+            "7\t" + id + "\tTab\\there\tLine\\nbreak and back\\\\slash\t10.50\t3\n"
+            + "8\t" + id + "\tPlain\t\\N\t10\t0\n");
+    }
+}
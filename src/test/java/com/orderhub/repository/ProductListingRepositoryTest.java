@@ -0,0 +1,35 @@
+package com.orderhub.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.orderhub.enums.ProductStatus;
+
+class ProductListingRepositoryTest {
+
+    @Test
+    @DisplayName("Should inline the status so partial indexes apply, and bind everything else")
+    void where_DefaultFilter() {
+        ProductListingRepository.Where where = ProductListingRepository.where(ProductFilter.active());
+
+        assertThat(where.sql()).isEqualTo(" WHERE status = 'active'");
+        assertThat(where.args()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should add one bound predicate per filter that is set")
+    void where_AllFilters() {
+        UUID owner = UUID.randomUUID();
+        ProductFilter filter = new ProductFilter(ProductStatus.disable, BigDecimal.ONE, BigDecimal.TEN, owner);
+
+        ProductListingRepository.Where where = ProductListingRepository.where(filter);
+
+        assertThat(where.sql()).isEqualTo(" WHERE status = 'disable' AND owner_id = ? AND price >= ? AND price <= ?");
+        assertThat(where.args()).containsExactly(owner, BigDecimal.ONE, BigDecimal.TEN);
+    }
+}
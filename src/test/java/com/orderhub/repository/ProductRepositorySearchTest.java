@@ -0,0 +1,102 @@
+package com.orderhub.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.orderhub.entity.Product;
+import com.orderhub.entity.User;
+import com.orderhub.enums.ProductStatus;
+
+/**
+ * Runs the native search query against a real Postgres whose schema comes from Hibernate plus
+ * {@code db/init.sql}, the same path the application takes. Needs Docker; skipped without it.
+ */
+@Tag("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductRepositorySearchTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    /* Only JPA: the application class also binds the JWT keys, which tests do not have */
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackageClasses = Product.class)
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    static class JpaOnly {}
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setUsername("seller");
+        owner.setPasswordHash("hash");
+        owner.setEmail("seller@orderhub.test");
+        userRepository.save(owner);
+
+        product(owner, "Mechanical Keyboard", "Hot-swappable switches", ProductStatus.active);
+        product(owner, "Wireless Mouse", "Pairs with any keyboard", ProductStatus.active);
+        product(owner, "Keyboard Cover", "Silicone", ProductStatus.disable);
+        productRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches and skip inactive products")
+    void search_FullText() {
+        List<ProductSearchHit> hits = productRepository.search("keyboard", 10, 0);
+
+        assertThat(hits).extracting(ProductSearchHit::getName)
+            .containsExactly("Mechanical Keyboard", "Wireless Mouse");
+    }
+
+    @Test
+    @DisplayName("Should find a misspelled name through trigram similarity")
+    void search_Typo() {
+        List<ProductSearchHit> hits = productRepository.search("Wireles Mouse", 10, 0);
+
+        assertThat(hits).extracting(ProductSearchHit::getName).contains("Wireless Mouse");
+    }
+
+    @Test
+    @DisplayName("Should page with limit and offset")
+    void search_Paging() {
+        assertThat(productRepository.search("keyboard", 1, 1)).extracting(ProductSearchHit::getName)
+            .containsExactly("Wireless Mouse");
+    }
+
+    private void product(User owner, String name, String description, ProductStatus status) {
+        Product product = new Product();
+        product.setOwner(owner);
+        product.setName(name);
+        product.setDescription(description);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStatus(status);
+        productRepository.save(product);
+    }
+}
@@ -0,0 +1,142 @@
+package com.orderhub.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.orderhub.event.UserRolesChangedEvent;
+import com.orderhub.repository.UserRepository;
+import com.orderhub.repository.UserStatus;
+import com.orderhub.service.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusValidatorTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private UserStatusValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new UserStatusValidator(userRepository, redisTemplate, listenerContainer, new SimpleMeterRegistry(), Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    @DisplayName("Should accept active users and answer repeated requests from the cache")
+    void activeUser_CachedAcceptance() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findStatusById(userId)).thenReturn(Optional.of(new UserStatus(true, 0)));
+
+        assertThat(validator.validate(jwt(userId)).hasErrors()).isFalse();
+        assertThat(validator.validate(jwt(userId)).hasErrors()).isFalse();
+
+        verify(userRepository, times(1)).findStatusById(userId);
+    }
+
+    @Test
+    @DisplayName("Should reject revoked or unknown users, and re-check once the TTL has passed")
+    void disabledUser_Rejected() {
+        /* Zero TTL: every request re-reads the flags, as one would after the TTL elapsed */
+        validator = new UserStatusValidator(userRepository, redisTemplate, listenerContainer, new SimpleMeterRegistry(), Duration.ZERO, 100);
+        UUID revoked = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        when(userRepository.findStatusById(revoked))
+            .thenReturn(Optional.of(new UserStatus(false, 0)))
+            .thenReturn(Optional.of(new UserStatus(true, 0)));
+        when(userRepository.findStatusById(unknown)).thenReturn(Optional.empty());
+
+        assertThat(validator.validate(jwt(revoked)).hasErrors()).isTrue();
+        assertThat(validator.validate(jwt(unknown)).hasErrors()).isTrue();
+
+        assertThat(validator.validate(jwt(revoked)).hasErrors()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before the user's last role change, once evicted")
+    void outdatedToken_Rejected() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findStatusById(userId))
+            .thenReturn(Optional.of(new UserStatus(true, 0)))
+            .thenReturn(Optional.of(new UserStatus(true, 1)));
+
+        assertThat(validator.validate(jwt(userId, 0)).hasErrors()).isFalse();
+
+        validator.onUserRolesChanged(new UserRolesChangedEvent(userId));
+        assertThat(validator.validate(jwt(userId, 0)).hasErrors()).isTrue();
+        assertThat(validator.validate(jwt(userId, 1)).hasErrors()).isFalse();
+        verify(redisTemplate).convertAndSend(RoleChangeBroadcaster.CHANNEL, userId.toString());
+    }
+
+    @Test
+    @DisplayName("Should re-check a user whose role change was broadcast by another instance")
+    void roleChangeBroadcast_Evicts() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findStatusById(userId))
+            .thenReturn(Optional.of(new UserStatus(true, 0)))
+            .thenReturn(Optional.of(new UserStatus(true, 1)));
+
+        assertThat(validator.validate(jwt(userId, 0)).hasErrors()).isFalse();
+
+        validator.onMessage(new DefaultMessage(RoleChangeBroadcaster.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            userId.toString().getBytes(StandardCharsets.UTF_8)), null);
+        validator.onMessage(new DefaultMessage(RoleChangeBroadcaster.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            "not-a-uuid".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(validator.validate(jwt(userId, 0)).hasErrors()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should build the principal from subject and roles claim")
+    void authenticatedUser_FromClaims() {
+        UUID userId = UUID.randomUUID();
+
+        AuthenticatedUser user = AuthenticatedUser.from(jwt(userId));
+
+        assertThat(user.id()).isEqualTo(userId);
+        assertThat(user.hasRole("ADMIN")).isTrue();
+        assertThat(user.hasRole("USER")).isFalse();
+    }
+
+    private static Jwt jwt(UUID subject) {
+        return jwt(subject, 0);
+    }
+
+    private static Jwt jwt(UUID subject, long tokenVersion) {
+        return Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject(subject.toString())
+            .claim("roles", List.of("ADMIN"))
+            .claim(JwtService.TOKEN_VERSION_CLAIM, tokenVersion)
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(60))
+            .build();
+    }
+}
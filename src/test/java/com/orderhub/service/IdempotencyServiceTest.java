@@ -0,0 +1,161 @@
+package com.orderhub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private IdempotencyService idempotencyService;
+
+    private static final String REQUEST = "request-1";
+
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(
+            redisTemplate, new ObjectMapper(), Duration.ofHours(1), Duration.ofSeconds(30), Duration.ofMillis(100));
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response with a single GET")
+    void execute_Replay() {
+        when(valueOperations.get(anyString())).thenReturn(fingerprint(REQUEST) + "{\"orderId\":\"abc\"}");
+
+        String json = idempotencyService.execute("orders", userId, "key-1", REQUEST, executions::incrementAndGet);
+
+        assertThat(json).isEqualTo("{\"orderId\":\"abc\"}");
+        assertThat(executions).hasValue(0);
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should run the action once and store the serialized response")
+    void execute_FirstRequest() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        String json = idempotencyService.execute("orders", userId, "key-1", REQUEST, executions::incrementAndGet);
+
+        assertThat(json).isEqualTo("1");
+        verify(valueOperations).set(eq("idempotency:orders:" + userId + ":key-1"), eq(fingerprint(REQUEST) + "1"), eq(Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("Should release the key when the action fails")
+    void execute_FailureReleasesKey() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders", userId, "key-1", REQUEST, () -> {
+            throw new AppException(ErrorCode.PRODUCT_NOT_FOUND, HttpStatus.BAD_REQUEST);
+        })).isInstanceOf(AppException.class);
+
+        verify(redisTemplate).delete("idempotency:orders:" + userId + ":key-1");
+    }
+
+    @Test
+    @DisplayName("Should wait for the in-flight request and replay its response")
+    void execute_WaitsForInFlight() {
+        when(valueOperations.get(anyString()))
+            .thenReturn("\u0000in-flight:" + fingerprint(REQUEST))
+            .thenReturn(fingerprint(REQUEST) + "{\"done\":true}");
+
+        String json = idempotencyService.execute("orders", userId, "key-1", REQUEST, executions::incrementAndGet);
+
+        assertThat(json).isEqualTo("{\"done\":true}");
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should give up with 409 when the in-flight request does not finish in time")
+    void execute_InFlightTimeout() {
+        when(valueOperations.get(anyString())).thenReturn("\u0000in-flight:" + fingerprint(REQUEST));
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders", userId, "key-1", REQUEST, executions::incrementAndGet))
+            .isInstanceOf(AppException.class)
+            .hasFieldOrPropertyWithValue("errorCode", ErrorCode.IDEMPOTENCY_IN_PROGRESS)
+            .hasFieldOrPropertyWithValue("status", HttpStatus.CONFLICT);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should refuse with 422 when the key was used for a different request")
+    void execute_KeyReusedForOtherRequest() {
+        when(valueOperations.get(anyString())).thenReturn(fingerprint("other") + "{\"orderId\":\"abc\"}");
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders", userId, "key-1", REQUEST, executions::incrementAndGet))
+            .isInstanceOf(AppException.class)
+            .hasFieldOrPropertyWithValue("errorCode", ErrorCode.IDEMPOTENCY_KEY_REUSED)
+            .hasFieldOrPropertyWithValue("status", HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should still answer when the response cannot be stored after the action ran")
+    void execute_StoreFailureStillAnswers() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        doThrow(new IllegalStateException("redis down"))
+            .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        String json = idempotencyService.execute("orders", userId, "key-1", REQUEST, executions::incrementAndGet);
+
+        assertThat(json).isEqualTo("1");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject blank keys")
+    void execute_BlankKey() {
+        assertThatThrownBy(() -> idempotencyService.execute("orders", userId, " ", REQUEST, executions::incrementAndGet))
+            .isInstanceOf(AppException.class)
+            .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT);
+    }
+
+    private static String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(new ObjectMapper().writeValueAsBytes(request)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -126,6 +126,8 @@ class JwtServiceTest {
         
         List<String> rolesClaim = claims.getClaim("roles");
         assertThat(rolesClaim).containsExactly("ROLE_ADMIN");
+
+        assertThat((Long) claims.getClaim(JwtService.TOKEN_VERSION_CLAIM)).isZero();
     }
 
     @Test
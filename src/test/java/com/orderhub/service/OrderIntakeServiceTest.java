@@ -0,0 +1,129 @@
+package com.orderhub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import com.orderhub.dto.order.request.CreateOrderRequest;
+import com.orderhub.dto.order.request.CreateOrderRequest.OrderItemRequest;
+import com.orderhub.dto.order.response.BulkOrderResponse.BulkOrderResult;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+import com.orderhub.security.AuthenticatedUser;
+import com.orderhub.service.OrderService.PendingOrder;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderIntakeService orderIntakeService;
+
+    private AuthenticatedUser user;
+    private CreateOrderRequest request;
+
+    @BeforeEach
+    void setUp() {
+        /* Writer threads are not started: tests drive write() directly */
+        orderIntakeService = new OrderIntakeService(orderService, 2, 1, 10, Duration.ofMinutes(10));
+
+        user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
+
+        request = new CreateOrderRequest(List.of(new OrderItemRequest(UUID.randomUUID(), 1)));
+    }
+
+    @Nested
+    @DisplayName("Submit")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("Should queue the order and expose a QUEUED ticket to its owner only")
+        void submit_Queued() {
+            UUID orderId = orderIntakeService.submit(user, request);
+
+            assertThat(orderIntakeService.queued()).isEqualTo(1);
+            assertThat(orderIntakeService.lookup(orderId, user.id()).state())
+                .isEqualTo(OrderIntakeService.State.QUEUED);
+            assertThat(orderIntakeService.lookup(orderId, UUID.randomUUID())).isNull();
+        }
+
+        @Test
+        @DisplayName("Should answer 429 when the intake queue is full")
+        void submit_QueueFull() {
+            orderIntakeService.submit(user, request);
+            orderIntakeService.submit(user, request);
+
+            assertThatThrownBy(() -> orderIntakeService.submit(user, request))
+                .isInstanceOf(AppException.class)
+                .satisfies(ex -> {
+                    AppException appEx = (AppException) ex;
+                    assertThat(appEx.getErrorCode()).isEqualTo(ErrorCode.TOO_MANY_REQUESTS);
+                    assertThat(appEx.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                });
+            assertThat(orderIntakeService.queued()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Write")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should clear written orders and keep rejections with their error code")
+        void write_GroupCommit() {
+            PendingOrder ok = pending();
+            PendingOrder bad = pending();
+            when(orderService.createAccepted(List.of(ok, bad))).thenReturn(List.of(
+                BulkOrderResult.created(0, null),
+                BulkOrderResult.rejected(1, ErrorCode.PRODUCT_NOT_FOUND)));
+
+            orderIntakeService.write(List.of(ok, bad));
+
+            assertThat(orderIntakeService.lookup(ok.orderId(), user.id())).isNull();
+            var ticket = orderIntakeService.lookup(bad.orderId(), user.id());
+            assertThat(ticket.state()).isEqualTo(OrderIntakeService.State.REJECTED);
+            assertThat(ticket.errorCode()).isEqualTo(ErrorCode.PRODUCT_NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("Should retry one by one when the group commit fails")
+        void write_FallbackToSingle() {
+            PendingOrder ok = pending();
+            PendingOrder broken = pending();
+            when(orderService.createAccepted(List.of(ok, broken))).thenThrow(new IllegalStateException("boom"));
+            when(orderService.createAccepted(List.of(ok))).thenReturn(List.of(BulkOrderResult.created(0, null)));
+            when(orderService.createAccepted(List.of(broken))).thenThrow(new IllegalStateException("boom"));
+
+            orderIntakeService.write(List.of(ok, broken));
+
+            verify(orderService, times(3)).createAccepted(anyList());
+            assertThat(orderIntakeService.lookup(ok.orderId(), user.id())).isNull();
+            assertThat(orderIntakeService.lookup(broken.orderId(), user.id()).errorCode())
+                .isEqualTo(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        private PendingOrder pending() {
+            UUID orderId = orderIntakeService.submit(user, request);
+            return new PendingOrder(orderId, user.id(), request.items());
+        }
+    }
+
+}
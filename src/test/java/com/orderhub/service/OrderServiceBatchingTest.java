@@ -0,0 +1,141 @@
+package com.orderhub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.cache.CatalogSnapshot;
+import com.orderhub.cache.InvalidationBus;
+import com.orderhub.cache.ProductSnapshotCache;
+import com.orderhub.dto.order.request.CreateOrderRequest;
+import com.orderhub.dto.order.request.CreateOrderRequest.OrderItemRequest;
+import com.orderhub.dto.order.response.OrderResponse;
+import com.orderhub.entity.Product;
+import com.orderhub.entity.User;
+import com.orderhub.repository.OrderBatchRepository;
+import com.orderhub.repository.OrderRepository;
+import com.orderhub.repository.ProductRepository;
+import com.orderhub.repository.UserRepository;
+import com.orderhub.security.AuthenticatedUser;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the JDBC statements a large checkout really sends to Postgres, with the Hibernate
+ * settings from application.properties. Needs Docker; skipped without it.
+ */
+@Tag("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+/* OrderService.create must commit on its own; the flush is what is being measured */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceBatchingTest {
+
+    private static final int ITEMS = 200;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    /* Only what create needs: the application class also binds the JWT keys, which tests do not have */
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackageClasses = Product.class)
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    @Import({ OrderService.class, OrderBatchRepository.class, ProductSnapshotCache.class })
+    static class OrderWriteOnly {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @MockitoBean
+    private CatalogSnapshot catalogSnapshot;
+
+    @MockitoBean
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User buyer;
+    private final List<OrderItemRequest> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        buyer = new User();
+        buyer.setUsername("buyer");
+        buyer.setPasswordHash("hash");
+        buyer.setEmail("buyer-" + System.nanoTime() + "@orderhub.test");
+        userRepository.save(buyer);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            Product product = new Product();
+            product.setOwner(buyer);
+            product.setName("Product " + System.nanoTime() + "-" + i);
+            product.setPrice(new BigDecimal("1.50"));
+            product.setStock(10);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+        products.forEach(product -> items.add(new OrderItemRequest(product.getId(), 2)));
+    }
+
+    @Test
+    @DisplayName("Should write a large cart with batched inserts, not one statement per item")
+    void create_LargeCart_BatchedInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderResponse response = orderService.create(new AuthenticatedUser(buyer.getId(), Set.of()), new CreateOrderRequest(items));
+
+        assertThat(orderRepository.findById(response.orderId())).get()
+            .satisfies(order -> assertThat(order.getTotal()).isEqualByComparingTo("600.00"));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEMS + 2);
+        /* Unbatched, every item would be its own statement; with batch_size=50 the items take a handful */
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ITEMS / 10);
+    }
+}
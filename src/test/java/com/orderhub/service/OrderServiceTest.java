@@ -4,14 +4,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,32 +28,52 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.cache.ProductSnapshot;
+import com.orderhub.cache.ProductSnapshotCache;
+import com.orderhub.dto.common.response.PageResponse;
+import com.orderhub.dto.order.request.BulkCreateOrderRequest;
 import com.orderhub.dto.order.request.CreateOrderRequest;
 import com.orderhub.dto.order.request.CreateOrderRequest.OrderItemRequest;
+import com.orderhub.dto.order.response.BulkOrderResponse;
 import com.orderhub.dto.order.response.OrderResponse;
 import com.orderhub.entity.Order;
 import com.orderhub.entity.Outbox;
 import com.orderhub.entity.Product;
 import com.orderhub.entity.User;
+import com.orderhub.enums.CountMode;
 import com.orderhub.enums.OrderStatus;
+import com.orderhub.enums.ProductStatus;
+import com.orderhub.event.OrderStatusChangedEvent;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
+import com.orderhub.repository.OrderBatchRepository;
 import com.orderhub.repository.OrderRepository;
+import com.orderhub.repository.OrderVersion;
 import com.orderhub.repository.OutboxRepository;
 import com.orderhub.repository.ProductRepository;
+import com.orderhub.repository.UserRepository;
+import com.orderhub.security.AuthenticatedUser;
+import com.orderhub.util.ETags;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
 
     @Mock private ProductRepository productRepository;
+    @Mock private UserRepository userRepository;
     @Mock private OrderRepository orderRepository;
     @Mock private OutboxRepository outboxRepository;
-    @Mock private RoleService roleService;
     @Mock private ObjectMapper objectMapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private OrderBatchRepository orderBatchRepository;
+    @Mock private ProductSnapshotCache productSnapshotCache;
 
     @InjectMocks private OrderService orderService;
 
@@ -57,8 +85,7 @@ class OrderServiceTest {
         @DisplayName("Should create order successfully")
         void create_Success() throws JsonProcessingException {
             // Arrange
-            User user = new User();
-            user.setId(UUID.randomUUID());
+            AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
 
             UUID productId = UUID.randomUUID();
             CreateOrderRequest req = new CreateOrderRequest(List.of(
@@ -70,7 +97,8 @@ class OrderServiceTest {
             product.setPrice(new BigDecimal("100.00"));
             product.setName("Test Product");
 
-            when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+            when(productSnapshotCache.current(anyList())).thenReturn(snapshots(List.of(product)));
+            stubReferences();
             
             when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
                 Order order = invocation.getArgument(0);
@@ -89,24 +117,174 @@ class OrderServiceTest {
             
             verify(orderRepository).save(any(Order.class));
             verify(outboxRepository).save(any(Outbox.class));
+            verify(eventPublisher).publishEvent(any(OrderStatusChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should persist a large cart through one cascaded save so inserts can be batched")
+        void create_LargeCart_SingleSave() throws JsonProcessingException {
+            AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
+
+            List<Product> products = new ArrayList<>();
+            List<OrderItemRequest> items = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                Product product = new Product();
+                product.setId(UUID.randomUUID());
+                product.setPrice(new BigDecimal("1.50"));
+                product.setName("P" + i);
+                products.add(product);
+                items.add(new OrderItemRequest(product.getId(), 2));
+            }
+
+            when(productSnapshotCache.current(anyList())).thenReturn(snapshots(products));
+            stubReferences();
+            when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+                Order order = invocation.getArgument(0);
+                order.setId(UUID.randomUUID());
+                return order;
+            });
+            when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+            OrderResponse response = orderService.create(user, new CreateOrderRequest(items));
+
+            assertThat(response.items()).hasSize(30);
+            assertThat(response.total()).isEqualByComparingTo("90.00");
+
+            /* One snapshot lookup, one save for order + items, one for the outbox; no explicit flushes */
+            verify(productSnapshotCache).current(anyList());
+            verify(productRepository, times(30)).getReferenceById(any());
+            verify(orderRepository).save(argThat(order -> order.getItems().size() == 30));
+            verify(outboxRepository).save(any(Outbox.class));
+            verifyNoMoreInteractions(productRepository, orderRepository, outboxRepository);
         }
 
         @Test
         @DisplayName("Should throw exception when product count mismatch (Product not found)")
         void create_ProductNotFound() {
-            User user = new User();
+            AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
             UUID productId = UUID.randomUUID();
             CreateOrderRequest req = new CreateOrderRequest(List.of(
                 new OrderItemRequest(productId, 1)
             ));
 
-            when(productRepository.findAllById(anyList())).thenReturn(Collections.emptyList());
+            when(productSnapshotCache.current(anyList())).thenReturn(Map.of());
 
             assertThatThrownBy(() -> orderService.create(user, req))
                 .isInstanceOf(AppException.class)
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INTERNAL_SERVER_ERROR)
                 .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
         }
+        @Test
+        @DisplayName("Should reject products that are not active in the snapshot")
+        void create_ProductUnavailable() {
+            AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
+
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setPrice(new BigDecimal("5.00"));
+            product.setStatus(ProductStatus.disable);
+
+            when(productSnapshotCache.current(anyList())).thenReturn(snapshots(List.of(product)));
+
+            assertThatThrownBy(() -> orderService.create(user, new CreateOrderRequest(List.of(
+                new OrderItemRequest(product.getId(), 1)))))
+                .isInstanceOf(AppException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.PRODUCT_UNAVAILABLE);
+
+            verify(orderRepository, never()).save(any(Order.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for createBulk()")
+    class CreateBulkTests {
+
+        @Test
+        @DisplayName("Should insert valid orders and reject invalid ones individually")
+        void createBulk_PartialFailure() throws JsonProcessingException {
+            AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
+
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setPrice(new BigDecimal("10.00"));
+            product.setName("Known");
+
+            UUID unknownId = UUID.randomUUID();
+
+            BulkCreateOrderRequest req = new BulkCreateOrderRequest(List.of(
+                new CreateOrderRequest(List.of(new OrderItemRequest(product.getId(), 3))),
+                new CreateOrderRequest(List.of(new OrderItemRequest(unknownId, 1))),
+                new CreateOrderRequest(List.of(
+                    new OrderItemRequest(product.getId(), 1),
+                    new OrderItemRequest(product.getId(), 1)
+                ))
+            ));
+
+            when(productSnapshotCache.current(anyList())).thenReturn(snapshots(List.of(product)));
+            stubReferences();
+            when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+            BulkOrderResponse response = orderService.createBulk(user, req);
+
+            assertThat(response.created()).isEqualTo(1);
+            assertThat(response.rejected()).isEqualTo(2);
+            assertThat(response.results().get(0).order().total()).isEqualByComparingTo("30.00");
+            assertThat(response.results().get(1).errorCode()).isEqualTo(ErrorCode.PRODUCT_NOT_FOUND.getCode());
+            assertThat(response.results().get(2).errorCode()).isEqualTo(ErrorCode.INVALID_INPUT.getCode());
+
+            verify(productSnapshotCache).current(anyList());
+            verify(orderBatchRepository).insertOrders(argThat(orders -> orders.size() == 1));
+            verify(orderBatchRepository).insertItems(argThat(items -> items.size() == 1));
+            verify(orderBatchRepository).insertOutbox(argThat(events -> events.size() == 1));
+        }
+
+        @Test
+        @DisplayName("Should skip the inserts when every order is rejected")
+        void createBulk_AllRejected() {
+            AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
+
+            BulkCreateOrderRequest req = new BulkCreateOrderRequest(List.of(
+                new CreateOrderRequest(List.of(new OrderItemRequest(UUID.randomUUID(), 1)))
+            ));
+
+            when(productSnapshotCache.current(anyList())).thenReturn(Map.of());
+
+            BulkOrderResponse response = orderService.createBulk(user, req);
+
+            assertThat(response.created()).isZero();
+            verify(orderBatchRepository, never()).insertOrders(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for getETag()")
+    class ETagTests {
+
+        @Test
+        @DisplayName("Should build the owner's ETag from the narrow version query")
+        void getETag_Owner() {
+            UUID userId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            Instant updatedAt = Instant.parse("2025-03-01T12:00:00Z");
+            when(orderRepository.findVersionById(orderId)).thenReturn(Optional.of(new OrderVersion(userId, updatedAt)));
+
+            assertThat(orderService.getETag(new AuthenticatedUser(userId, Set.of("USER")), orderId))
+                .isEqualTo(ETags.of(orderId, updatedAt));
+            verify(orderRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should not reveal the version of someone else's order")
+        void getETag_Unauthorized() {
+            UUID userId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            when(orderRepository.findVersionById(orderId))
+                .thenReturn(Optional.of(new OrderVersion(UUID.randomUUID(), Instant.now())));
+
+            assertThatThrownBy(() -> orderService.getETag(new AuthenticatedUser(userId, Set.of("USER")), orderId))
+                .isInstanceOf(AppException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.UNAUTHORIZED);
+        }
     }
 
     @Nested
@@ -129,7 +307,52 @@ class OrderServiceTest {
 
             when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-            OrderResponse response = orderService.getOrderById(userId, orderId);
+            OrderResponse response = orderService.getOrderById(new AuthenticatedUser(userId, Set.of("USER")), orderId);
+
+            assertThat(response.orderId()).isEqualTo(orderId);
+        }
+
+        @Test
+        @DisplayName("Should tag the order from the row it loaded, without the version query")
+        void getTaggedOrder_OneLoad() {
+            UUID userId = UUID.randomUUID();
+            User user = new User();
+            user.setId(userId);
+
+            UUID orderId = UUID.randomUUID();
+            Instant updatedAt = Instant.parse("2025-03-01T12:00:00Z");
+            Order order = new Order();
+            order.setId(orderId);
+            order.setUser(user);
+            order.setTotal(BigDecimal.TEN);
+            order.setItems(List.of());
+            order.setUpdatedAt(updatedAt);
+
+            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+            OrderService.TaggedOrder tagged = orderService.getTaggedOrder(new AuthenticatedUser(userId, Set.of("USER")), orderId);
+
+            assertThat(tagged.order().orderId()).isEqualTo(orderId);
+            assertThat(tagged.etag()).isEqualTo(ETags.of(orderId, updatedAt));
+            verify(orderRepository, never()).findVersionById(any());
+        }
+
+        @Test
+        @DisplayName("Should let an admin read any order, going by the token's roles")
+        void getById_Success_Admin() {
+            User owner = new User();
+            owner.setId(UUID.randomUUID());
+
+            UUID orderId = UUID.randomUUID();
+            Order order = new Order();
+            order.setId(orderId);
+            order.setUser(owner);
+            order.setTotal(BigDecimal.TEN);
+            order.setItems(List.of());
+
+            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+            OrderResponse response = orderService.getOrderById(new AuthenticatedUser(UUID.randomUUID(), Set.of("ADMIN")), orderId);
 
             assertThat(response.orderId()).isEqualTo(orderId);
         }
@@ -149,11 +372,53 @@ class OrderServiceTest {
             order.setUser(owner);
 
             when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(false);
 
-            assertThatThrownBy(() -> orderService.getOrderById(userId, orderId))
+            assertThatThrownBy(() -> orderService.getOrderById(new AuthenticatedUser(userId, Set.of("USER")), orderId))
                 .isInstanceOf(AppException.class)
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.UNAUTHORIZED);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Tests for getAll()")
+    class GetAllTests {
+
+        @Test
+        @DisplayName("Should list orders as a slice without counting by default")
+        void getAll_NoCount() {
+            Pageable pageable = PageRequest.of(0, 20);
+
+            Order order = new Order();
+            order.setId(UUID.randomUUID());
+            order.setTotal(BigDecimal.TEN);
+            order.setItems(List.of());
+
+            when(orderRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(order), pageable, false));
+
+            PageResponse<OrderResponse> result = orderService.getAll(pageable, CountMode.none);
+
+            assertThat(result.content()).hasSize(1);
+            assertThat(result.hasNext()).isFalse();
+            assertThat(result.totalElements()).isNull();
+            verify(orderRepository, never()).findAll(any(Pageable.class));
+        }
+    }
+    private Map<UUID, ProductSnapshot> snapshots(List<Product> products) {
+        return products.stream().collect(Collectors.toMap(Product::getId, product -> new ProductSnapshot(
+            product.getId(), product.getName(), product.getPrice(), product.getStatus(), Instant.EPOCH)));
+    }
+
+    /* getReferenceById hands out an uninitialized proxy; only its id is read on the write path */
+    private void stubReferences() {
+        when(productRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            Product reference = new Product();
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
+        when(userRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            User reference = new User();
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
+    }
+}
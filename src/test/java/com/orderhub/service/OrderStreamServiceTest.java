@@ -0,0 +1,57 @@
+package com.orderhub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.orderhub.enums.OrderStatus;
+import com.orderhub.event.OrderStatusChangedEvent;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+
+class OrderStreamServiceTest {
+
+    private final OrderStreamService orderStreamService = new OrderStreamService(60_000L, 2);
+
+    @Test
+    @DisplayName("Should register one stream per subscription")
+    void subscribe_Registers() {
+        UUID userId = UUID.randomUUID();
+
+        orderStreamService.subscribe(userId);
+        orderStreamService.subscribe(userId);
+
+        assertThat(orderStreamService.openStreams()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject subscriptions above the per-user limit")
+    void subscribe_LimitReached() {
+        UUID userId = UUID.randomUUID();
+
+        orderStreamService.subscribe(userId);
+        orderStreamService.subscribe(userId);
+
+        assertThatThrownBy(() -> orderStreamService.subscribe(userId))
+            .isInstanceOf(AppException.class)
+            .hasFieldOrPropertyWithValue("errorCode", ErrorCode.TOO_MANY_REQUESTS)
+            .hasFieldOrPropertyWithValue("status", HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(orderStreamService.openStreams()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should ignore events for users without open streams")
+    void publish_NoSubscribers() {
+        var event = new OrderStatusChangedEvent(UUID.randomUUID(), UUID.randomUUID(), OrderStatus.pending, Instant.now());
+
+        assertThatCode(() -> orderStreamService.publish(event)).doesNotThrowAnyException();
+    }
+}
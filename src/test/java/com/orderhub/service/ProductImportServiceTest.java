@@ -0,0 +1,143 @@
+package com.orderhub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.dto.product.response.ImportResponse;
+import com.orderhub.enums.ImportFormat;
+import com.orderhub.event.ProductsImportedEvent;
+import com.orderhub.exception.AppException;
+import com.orderhub.exception.ErrorCode;
+import com.orderhub.repository.ProductImportRepository;
+import com.orderhub.repository.StagedProduct;
+import com.orderhub.security.AuthenticatedUser;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductImportRepository productImportRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private ProductImportService productImportService;
+
+    private final AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), Set.of());
+    private final List<StagedProduct> staged = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStaging() {
+        when(productImportRepository.stage(any())).thenAnswer(invocation -> {
+            Consumer<Consumer<StagedProduct>> producer = invocation.getArgument(0);
+            producer.accept(staged::add);
+            return (long) staged.size();
+        });
+    }
+
+    @Test
+    @DisplayName("Should stage valid CSV rows, count rejected ones and report duplicates from the merge")
+    void import_Csv() {
+        stubStaging();
+        when(productImportRepository.merge(user.id())).thenReturn(1);
+
+        String csv = """
+            name,description,price,stock
+            "Keyboard, TKL","Mechanical\tswitches",99.90,5
+            X,Too short,10.00,1
+            Mouse,Wireless,abc,2
+            Monitor,27 inch,899.00,3
+            """;
+
+        ImportResponse response = productImportService.importProducts(user, body(csv), ImportFormat.csv);
+
+        assertThat(staged).extracting(StagedProduct::name).containsExactly("Keyboard, TKL", "Monitor");
+        assertThat(staged).extracting(StagedProduct::row).containsExactly(1L, 4L);
+        assertThat(response.received()).isEqualTo(4);
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(response.duplicates()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(2);
+        assertThat(response.errors()).extracting(ImportResponse.ImportError::row).containsExactly(2L, 3L);
+        assertThat(response.errors().get(0).message()).startsWith("name:");
+        verify(eventPublisher).publishEvent(new ProductsImportedEvent(user.id(), 1));
+    }
+
+    @Test
+    @DisplayName("Should read one JSON object per line")
+    void import_Ndjson() {
+        stubStaging();
+        when(productImportRepository.merge(user.id())).thenReturn(2);
+
+        String ndjson = """
+            {"name":"Keyboard","description":"Mechanical","price":99.9,"stock":5}
+            {"name":"Mouse","description":"Wireless","price":"25.00","stock":2}
+            """;
+
+        ImportResponse response = productImportService.importProducts(user, body(ndjson), ImportFormat.ndjson);
+
+        assertThat(staged).extracting(StagedProduct::name).containsExactly("Keyboard", "Mouse");
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.rejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should abort the whole import when the body cannot be parsed")
+    void import_Malformed() {
+        stubStaging();
+
+        String ndjson = """
+            {"name":"Keyboard","description":"Mechanical","price":99.9,"stock":5}
+            {"name":"Mouse",
+            """;
+
+        assertThatThrownBy(() -> productImportService.importProducts(user, body(ndjson), ImportFormat.ndjson))
+            .isInstanceOf(AppException.class)
+            .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT)
+            .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+
+        verify(productImportRepository, never()).merge(any());
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
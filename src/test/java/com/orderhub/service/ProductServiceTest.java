@@ -3,13 +3,19 @@ package com.orderhub.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.DisplayName;
@@ -18,23 +24,45 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderhub.cache.InMemoryInvalidationBus;
+import com.orderhub.cache.InMemoryRemoteCacheStore;
+import com.orderhub.cache.CachedProduct;
+import com.orderhub.cache.CatalogRow;
+import com.orderhub.cache.CatalogSnapshot;
+import com.orderhub.cache.ProductCache;
+import com.orderhub.cache.ProductSuggestIndex;
+import com.orderhub.dto.common.response.PageResponse;
 import com.orderhub.dto.product.request.CreateRequest;
 import com.orderhub.dto.product.request.UpdateRequest;
 import com.orderhub.dto.product.response.CreatedResponse;
+import com.orderhub.dto.product.response.BatchProductResponse;
+import com.orderhub.dto.product.response.BatchProductResponse.BatchProductResult;
 import com.orderhub.dto.product.response.ProductResponse;
 import com.orderhub.entity.Product;
 import com.orderhub.entity.User;
+import com.orderhub.enums.CountMode;
 import com.orderhub.enums.ProductStatus;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
+import com.orderhub.event.ProductChangedEvent;
+import com.orderhub.repository.ProductFilter;
+import com.orderhub.repository.ProductListingRepository;
 import com.orderhub.repository.ProductRepository;
+import com.orderhub.repository.ProductSearchHit;
+import com.orderhub.security.AuthenticatedUser;
+import com.orderhub.util.ETags;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
@@ -43,7 +71,20 @@ class ProductServiceTest {
     private ProductRepository productRepository;
 
     @Mock
-    private RoleService roleService;
+    private ProductListingRepository productListingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(new SimpleMeterRegistry(),
+        new InMemoryRemoteCacheStore(), new InMemoryInvalidationBus(), new ObjectMapper().findAndRegisterModules(), 100, Duration.ofMinutes(1), Duration.ofMinutes(10), 2, 0);
 
     @InjectMocks
     private ProductService productService;
@@ -57,51 +98,23 @@ class ProductServiceTest {
         void create_Success() {
             // Arrange
             UUID userId = UUID.randomUUID();
-            User user = new User();
-            user.setId(userId);
+            AuthenticatedUser user = new AuthenticatedUser(userId, Set.of());
 
             CreateRequest req = new CreateRequest("Iphone 15", "Smartphone", new BigDecimal("5000"), 10);
-            
-            Product mockSavedProduct = new Product();
-            mockSavedProduct.setId(UUID.randomUUID());
-            mockSavedProduct.setName(req.name());
-            mockSavedProduct.setDescription(req.description());
-            mockSavedProduct.setPrice(req.price());
-            mockSavedProduct.setStatus(ProductStatus.active);
-            mockSavedProduct.setOwner(user);
-
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(true);
-            when(productRepository.existsByNameAndOwnerId(req.name(), userId)).thenReturn(false);
-            when(productRepository.save(any(Product.class))).thenReturn(mockSavedProduct);
+            UUID productId = UUID.randomUUID();
+
+            when(productRepository.insertIfAbsent(any(), any(), any(), any(), any(), anyInt())).thenReturn(Optional.of(productId));
 
             // Act
             CreatedResponse response = productService.create(user, req);
 
             // Assert
             assertThat(response).isNotNull();
+            assertThat(response.id()).isEqualTo(productId);
             assertThat(response.name()).isEqualTo(req.name());
-            verify(productRepository).save(any(Product.class));
-        }
-
-        @Test
-        @DisplayName("Should throw exception if user is not ADMIN")
-        void create_NotAdmin() {
-            // Arrange
-            UUID userId = UUID.randomUUID();
-            User user = new User();
-            user.setId(userId);
-
-            CreateRequest req = new CreateRequest("Item", "Desc", BigDecimal.TEN, 5);
-            
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(false);
-
-            // Act & Assert
-            assertThatThrownBy(() -> productService.create(user, req))
-                .isInstanceOf(AppException.class)
-                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.UNAUTHORIZED)
-                .hasFieldOrPropertyWithValue("status", HttpStatus.UNAUTHORIZED);
-
-            verify(productRepository, never()).save(any());
+            assertThat(response.status()).isEqualTo(ProductStatus.active);
+            verify(productRepository).insertIfAbsent(any(), any(), any(), any(), any(), anyInt());
+            verify(eventPublisher).publishEvent(new ProductChangedEvent(productId));
         }
 
         @Test
@@ -109,13 +122,11 @@ class ProductServiceTest {
         void create_Duplicated() {
             // Arrange
             UUID userId = UUID.randomUUID();
-            User user = new User();
-            user.setId(userId);
+            AuthenticatedUser user = new AuthenticatedUser(userId, Set.of());
 
             CreateRequest req = new CreateRequest("Item", "Desc", BigDecimal.TEN, 5);
             
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(true);
-            when(productRepository.existsByNameAndOwnerId(req.name(), userId)).thenReturn(true);
+            when(productRepository.insertIfAbsent(any(), any(), any(), any(), any(), anyInt())).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThatThrownBy(() -> productService.create(user, req))
@@ -123,7 +134,7 @@ class ProductServiceTest {
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DUPLICATED_RESOURCE)
                 .hasFieldOrPropertyWithValue("status", HttpStatus.CONFLICT);
             
-            verify(productRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
         }
     }
 
@@ -136,8 +147,7 @@ class ProductServiceTest {
         void update_Success() {
             // Arrange
             UUID userId = UUID.randomUUID();
-            User user = new User();
-            user.setId(userId);
+            AuthenticatedUser user = new AuthenticatedUser(userId, Set.of());
 
             UUID productId = UUID.randomUUID();
             
@@ -146,11 +156,12 @@ class ProductServiceTest {
 
             Product existingProduct = new Product();
             existingProduct.setId(productId);
-            existingProduct.setOwner(user);
+            User owner = new User();
+            owner.setId(userId);
+            existingProduct.setOwner(owner);
 
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(true);
             when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
-            when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArgument(0));
+            when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(i -> i.getArgument(0));
 
             // Act
             CreatedResponse response = productService.update(user, productId, req);
@@ -158,28 +169,33 @@ class ProductServiceTest {
             // Assert
             assertThat(response.name()).isEqualTo("New Name");
             assertThat(response.description()).isEqualTo("New Desc");
-            verify(productRepository).save(existingProduct);
+            verify(productRepository).saveAndFlush(existingProduct);
+            verify(eventPublisher).publishEvent(new ProductChangedEvent(productId));
         }
 
         @Test
-        @DisplayName("Should throw exception if user is not ADMIN during update")
-        void update_NotAdmin() {
-            // Arrange
+        @DisplayName("Should answer conflict when renaming onto a name the owner already uses")
+        void update_DuplicateName() {
             UUID userId = UUID.randomUUID();
-            User user = new User();
-            user.setId(userId);
+            AuthenticatedUser user = new AuthenticatedUser(userId, Set.of());
             UUID productId = UUID.randomUUID();
-            
-            // CORREÇÃO: Removido ID do construtor
-            UpdateRequest req = new UpdateRequest("Name", "Desc", BigDecimal.TEN, 0, ProductStatus.active);
+            UpdateRequest req = new UpdateRequest("Taken Name", "Desc", BigDecimal.TEN, 0, ProductStatus.active);
 
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(false);
+            Product product = new Product();
+            product.setId(productId);
+            User owner = new User();
+            owner.setId(userId);
+            product.setOwner(owner);
+
+            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+            when(productRepository.saveAndFlush(product))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint \"uk_products_owner_name\""));
 
-            // Act & Assert
             assertThatThrownBy(() -> productService.update(user, productId, req))
                 .isInstanceOf(AppException.class)
-                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.UNAUTHORIZED)
-                .hasFieldOrPropertyWithValue("status", HttpStatus.UNAUTHORIZED);
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DUPLICATED_RESOURCE)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.CONFLICT);
+            verify(eventPublisher, never()).publishEvent(any());
         }
 
         @Test
@@ -187,8 +203,7 @@ class ProductServiceTest {
         void update_NotOwner() {
             // Arrange
             UUID userId = UUID.randomUUID();
-            User user = new User();
-            user.setId(userId);
+            AuthenticatedUser user = new AuthenticatedUser(userId, Set.of());
 
             UUID otherUserId = UUID.randomUUID();
             User otherOwner = new User();
@@ -203,7 +218,6 @@ class ProductServiceTest {
             product.setId(productId);
             product.setOwner(otherOwner); // Dono diferente
 
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(true);
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
 
             // Act & Assert
@@ -218,15 +232,13 @@ class ProductServiceTest {
         void update_ProductNotFound() {
             // Arrange
             UUID userId = UUID.randomUUID();
-            User user = new User();
-            user.setId(userId);
+            AuthenticatedUser user = new AuthenticatedUser(userId, Set.of());
             
             UUID productId = UUID.randomUUID();
             
             // CORREÇÃO: Removido ID do construtor
             UpdateRequest req = new UpdateRequest("Name", "Desc", BigDecimal.TEN, 0, ProductStatus.active);
 
-            when(roleService.verifyRole(userId, "ADMIN")).thenReturn(true);
             when(productRepository.findById(productId)).thenReturn(Optional.empty());
 
             // Act & Assert
@@ -242,26 +254,61 @@ class ProductServiceTest {
     class GetByIdTests {
 
         @Test
-        @DisplayName("Should return product response when ID exists")
+        @DisplayName("Should return the product with the updated_at its ETag is built from")
         void getById_Success() {
             // Arrange
             UUID productId = UUID.randomUUID();
             String name = "Test Product";
+            Instant updatedAt = Instant.parse("2025-03-01T12:00:00Z");
             Product product = new Product();
             product.setId(productId);
             product.setName(name);
             product.setDescription("Desc");
             product.setPrice(BigDecimal.TEN);
+            product.setUpdatedAt(updatedAt);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
 
             // Act
-            ProductResponse response = productService.getById(productId);
+            CachedProduct response = productService.getById(productId);
 
             // Assert
             assertThat(response).isNotNull();
             assertThat(response.id()).isEqualTo(productId);
             assertThat(response.name()).isEqualTo(name);
+            assertThat(response.etag()).isEqualTo(ETags.of(productId, updatedAt)).startsWith("\"").endsWith("\"");
+        }
+
+        @Test
+        @DisplayName("Should serve a cold read from the catalog snapshot file without querying")
+        void getById_FromCatalogSnapshot() {
+            UUID productId = UUID.randomUUID();
+            when(catalogSnapshot.find(productId)).thenReturn(Optional.of(new CatalogRow(
+                productId, "Mapped", "From file", new BigDecimal("12.30"), 4, ProductStatus.active, Instant.now())));
+
+            CachedProduct response = productService.getById(productId);
+
+            assertThat(response.name()).isEqualTo("Mapped");
+            assertThat(response.price()).isEqualByComparingTo("12.30");
+            verify(productRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should answer repeated reads from the near-cache")
+        void getById_Cached() {
+            UUID productId = UUID.randomUUID();
+            Product product = new Product();
+            product.setId(productId);
+            product.setName("Cached");
+            product.setPrice(BigDecimal.ONE);
+
+            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+            productService.getById(productId);
+            CachedProduct response = productService.getById(productId);
+
+            assertThat(response.name()).isEqualTo("Cached");
+            verify(productRepository, times(1)).findById(productId);
         }
 
         @Test
@@ -280,36 +327,77 @@ class ProductServiceTest {
     }
 
     @Nested
-    @DisplayName("Tests for getByName()")
-    class GetByNameTests {
+    @DisplayName("Tests for getByIds()")
+    class GetByIdsTests {
 
         @Test
-        @DisplayName("Should return product response")
-        void getByName_Success() {
-            String name = "Test Product";
-            Product product = new Product();
-            product.setId(UUID.randomUUID());
-            product.setName(name);
-            product.setDescription("Desc");
-            product.setPrice(BigDecimal.TEN);
-
-            when(productRepository.findByName(name)).thenReturn(Optional.of(product));
+        @DisplayName("Should answer in request order, reuse cached entries and mark unknown ids")
+        void getByIds_Success() {
+            UUID cachedId = UUID.randomUUID();
+            UUID loadedId = UUID.randomUUID();
+            UUID unknownId = UUID.randomUUID();
+
+            Product cached = new Product();
+            cached.setId(cachedId);
+            cached.setName("Cached");
+            cached.setPrice(BigDecimal.ONE);
+            when(productRepository.findById(cachedId)).thenReturn(Optional.of(cached));
+            productService.getById(cachedId);
+
+            when(productRepository.findCachedByIdIn(Set.of(loadedId, unknownId)))
+                .thenReturn(List.of(new CachedProduct(loadedId, "Loaded", null, BigDecimal.TEN, Instant.now())));
+
+            BatchProductResponse response = productService.getByIds(List.of(unknownId, cachedId, loadedId, cachedId));
+
+            assertThat(response.results()).extracting(BatchProductResult::id)
+                .containsExactly(unknownId, cachedId, loadedId, cachedId);
+            assertThat(response.results()).extracting(BatchProductResult::found)
+                .containsExactly(false, true, true, true);
+            assertThat(response.results().get(2).product().name()).isEqualTo("Loaded");
+            assertThat(response.found()).isEqualTo(3);
+            assertThat(response.notFound()).isEqualTo(1);
+            verify(productRepository, times(1)).findCachedByIdIn(any());
+        }
+    }
 
-            ProductResponse response = productService.getByName(name);
+    @Nested
+    @DisplayName("Tests for search()")
+    class SearchTests {
 
-            assertThat(response.name()).isEqualTo(name);
+        @Test
+        @DisplayName("Should map ranked hits and report hasNext from the extra row")
+        void search_Success() {
+            Pageable pageable = PageRequest.of(1, 2);
+            when(productRepository.search("keybord", 3, 2L))
+                .thenReturn(List.of(hit("Keyboard"), hit("Keyboard TKL"), hit("Keyboard Wrist Rest")));
+
+            PageResponse<ProductResponse> result = productService.search("  keybord ", pageable);
+
+            assertThat(result.content()).extracting(ProductResponse::name).containsExactly("Keyboard", "Keyboard TKL");
+            assertThat(result.hasNext()).isTrue();
+            assertThat(result.page()).isEqualTo(1);
+            assertThat(result.totalElements()).isNull();
         }
 
         @Test
-        @DisplayName("Should throw exception when product not found")
-        void getByName_NotFound() {
-            String name = "Unknown";
-            when(productRepository.findByName(name)).thenReturn(Optional.empty());
-
-            assertThatThrownBy(() -> productService.getByName(name))
+        @DisplayName("Should reject a blank query without touching the database")
+        void search_Blank() {
+            assertThatThrownBy(() -> productService.search("   ", PageRequest.of(0, 20)))
                 .isInstanceOf(AppException.class)
-                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.PRODUCT_NOT_FOUND)
-                .hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+
+            verify(productRepository, never()).search(any(), anyInt(), anyLong());
+        }
+
+        private ProductSearchHit hit(String name) {
+            UUID id = UUID.randomUUID();
+            return new ProductSearchHit() {
+                public UUID getId() { return id; }
+                public String getName() { return name; }
+                public String getDescription() { return null; }
+                public BigDecimal getPrice() { return BigDecimal.TEN; }
+            };
         }
     }
 
@@ -317,27 +405,128 @@ class ProductServiceTest {
     @DisplayName("Tests for getProducts() [Pagination]")
     class PaginationTests {
 
+        private final ProductFilter active = ProductFilter.active();
+        private final Sort.Order newestFirst = Sort.Order.desc("createdAt");
+
         @Test
-        @DisplayName("Should return paginated products")
+        @DisplayName("Should return the page in index order with exact count")
         void getProducts_Success() {
             // Arrange
             Pageable pageable = PageRequest.of(0, 10);
-            
-            Product p1 = new Product();
-            p1.setId(UUID.randomUUID());
-            p1.setName("P1");
-            p1.setPrice(BigDecimal.TEN);
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+
+            when(productListingRepository.findIds(active, newestFirst, 11, 0L)).thenReturn(List.of(first, second));
+            when(productRepository.findResponsesByIdIn(List.of(first, second))).thenReturn(List.of(
+                new ProductResponse(second, "P2", null, BigDecimal.ONE),
+                new ProductResponse(first, "P1", null, BigDecimal.TEN)
+            ));
+            when(productListingRepository.count(active)).thenReturn(2L);
+
+            // Act
+            PageResponse<ProductResponse> result = productService.getProducts(active, pageable, CountMode.exact);
 
-            Page<Product> productPage = new PageImpl<>(List.of(p1));
+            // Assert
+            assertThat(result.content()).extracting(ProductResponse::name).containsExactly("P1", "P2");
+            assertThat(result.totalElements()).isEqualTo(2L);
+            assertThat(result.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should return a slice without running any count by default")
+        void getProducts_NoCount() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 1);
+            UUID first = UUID.randomUUID();
+
+            when(productListingRepository.findIds(active, newestFirst, 2, 0L)).thenReturn(List.of(first, UUID.randomUUID()));
+            when(productRepository.findResponsesByIdIn(List.of(first))).thenReturn(List.of(new ProductResponse(first, "P1", null, BigDecimal.TEN)));
+
+            // Act
+            PageResponse<ProductResponse> result = productService.getProducts(active, pageable, CountMode.none);
+
+            // Assert
+            assertThat(result.content()).hasSize(1);
+            assertThat(result.hasNext()).isTrue();
+            assertThat(result.totalElements()).isNull();
+            verify(productListingRepository, never()).count(any());
+            verify(productListingRepository, never()).estimateCount(any());
+        }
+
+        @Test
+        @DisplayName("Should attach the planner estimate for the filter when count=estimate")
+        void getProducts_EstimatedCount() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
 
-            when(productRepository.findAll(pageable)).thenReturn(productPage);
+            when(productListingRepository.findIds(active, newestFirst, 11, 0L)).thenReturn(List.of());
+            when(productListingRepository.estimateCount(active)).thenReturn(1_500_000L);
 
             // Act
-            Page<ProductResponse> result = productService.getProducts(pageable);
+            PageResponse<ProductResponse> result = productService.getProducts(active, pageable, CountMode.estimate);
 
             // Assert
-            assertThat(result).hasSize(1);
-            assertThat(result.getContent().get(0).name()).isEqualTo("P1");
+            assertThat(result.totalElements()).isEqualTo(1_500_000L);
+            assertThat(result.countMode()).isEqualTo(CountMode.estimate);
+            verify(productRepository, never()).findResponsesByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should pass filters and the requested sort to the listing query")
+        void getProducts_Filtered() {
+            // Arrange
+            ProductFilter filter = new ProductFilter(ProductStatus.pending, BigDecimal.ONE, BigDecimal.TEN, UUID.randomUUID());
+            Pageable pageable = PageRequest.of(2, 5, Sort.by("price"));
+
+            when(productListingRepository.findIds(filter, Sort.Order.asc("price"), 6, 10L)).thenReturn(List.of());
+
+            // Act
+            PageResponse<ProductResponse> result = productService.getProducts(filter, pageable, CountMode.none);
+
+            // Assert
+            assertThat(result.content()).isEmpty();
+            assertThat(result.page()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should cache pages per filter")
+        void getProducts_CachedPerFilter() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10);
+            ProductFilter cheap = new ProductFilter(ProductStatus.active, null, BigDecimal.TEN, null);
+
+            when(productListingRepository.findIds(any(), any(), anyInt(), anyLong())).thenReturn(List.of());
+
+            // Act
+            productService.getProducts(active, pageable, CountMode.none);
+            productService.getProducts(cheap, pageable, CountMode.none);
+            productService.getProducts(active, pageable, CountMode.none);
+
+            // Assert
+            verify(productListingRepository).findIds(active, newestFirst, 11, 0L);
+            verify(productListingRepository).findIds(cheap, newestFirst, 11, 0L);
+        }
+
+        @Test
+        @DisplayName("Should reject sorts no listing index serves")
+        void getProducts_UnsupportedSort() {
+            Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+
+            assertThatThrownBy(() -> productService.getProducts(active, pageable, CountMode.none))
+                .isInstanceOf(AppException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT);
+
+            verify(productListingRepository, never()).findIds(any(), any(), anyInt(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should reject an empty price range")
+        void getProducts_InvertedPriceRange() {
+            ProductFilter filter = new ProductFilter(ProductStatus.active, BigDecimal.TEN, BigDecimal.ONE, null);
+
+            assertThatThrownBy(() -> productService.getProducts(filter, PageRequest.of(0, 10), CountMode.none))
+                .isInstanceOf(AppException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.orderhub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/* Runs the rotation script on a real Redis, where EVAL atomicity is what is being relied on. Needs Docker; skipped without it */
+@Tag("redis")
+@Testcontainers(disabledWithoutDocker = true)
+class RedisServiceRedisTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static RedisService redisService;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisService = new RedisService(redisTemplate);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Should move the user to the new token with the refresh TTL and refuse reuse of the old one")
+    void rotate_ConsumesOldToken() {
+        String old = UUID.randomUUID().toString();
+        String rotated = UUID.randomUUID().toString();
+        redisService.save(old, "user-1");
+
+        assertThat(redisService.rotate(old, rotated)).isEqualTo("user-1");
+        assertThat(redisService.rotate(old, UUID.randomUUID().toString())).isNull();
+
+        assertThat(redisService.get(old)).isNull();
+        assertThat(redisService.get(rotated)).isEqualTo("user-1");
+        assertThat(redisTemplate.getExpire(rotated)).isPositive()
+            .isLessThanOrEqualTo(RedisService.REFRESH_TOKEN_TTL.toSeconds());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent refreshes with the same token win")
+    void rotate_ConcurrentRefreshes_OneWinner() throws Exception {
+        int callers = 16;
+        String shared = UUID.randomUUID().toString();
+        redisService.save(shared, "user-1");
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<String> newTokens = new ArrayList<>();
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String newToken = UUID.randomUUID().toString();
+                newTokens.add(newToken);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return redisService.rotate(shared, newToken);
+                }));
+            }
+            start.countDown();
+
+            List<String> winners = new ArrayList<>();
+            for (Future<String> result : results) winners.add(result.get());
+
+            assertThat(winners.stream().filter(Objects::nonNull)).containsExactly("user-1");
+            assertThat(redisService.get(shared)).isNull();
+            assertThat(newTokens.stream().map(redisService::get).filter(Objects::nonNull)).containsExactly("user-1");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.orderhub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class RedisServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private RedisService redisService;
+
+    /* Stands in for Redis; atomicity under concurrency is checked against a real one in RedisServiceRedisTest */
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        redisService = new RedisService(redisTemplate);
+        when(redisTemplate.execute(eq(RedisService.ROTATE), anyList(), any())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            assertThat((String) invocation.getArgument(2))
+                .isEqualTo(String.valueOf(RedisService.REFRESH_TOKEN_TTL.toSeconds()));
+
+            String userId = store.remove(keys.get(0));
+            if (userId != null) store.put(keys.get(1), userId);
+            return userId;
+        });
+    }
+
+    @Test
+    @DisplayName("Should move the user to the new token in a single call and refuse reuse of the old one")
+    void rotate_SingleRoundTrip() {
+        store.put("old", "user-1");
+
+        assertThat(redisService.rotate("old", "new")).isEqualTo("user-1");
+        assertThat(redisService.rotate("old", "other")).isNull();
+
+        assertThat(store).containsOnlyKeys("new");
+        verify(redisTemplate, never()).opsForValue();
+        verify(redisTemplate, never()).delete(any(String.class));
+    }
+}
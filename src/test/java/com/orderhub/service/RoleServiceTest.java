@@ -1,7 +1,6 @@
 package com.orderhub.service;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -17,11 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 
 import com.orderhub.entity.Role;
 import com.orderhub.entity.User;
 import com.orderhub.entity.UserRole;
+import com.orderhub.event.UserRolesChangedEvent;
 import com.orderhub.exception.AppException;
 import com.orderhub.exception.ErrorCode;
 import com.orderhub.repository.RoleRepository;
@@ -40,39 +41,15 @@ class RoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoleService roleService;
 
     private static final UUID USER_ID = UUID.randomUUID();
     private static final String ROLE_ADMIN = "ROLE_ADMIN";
 
-    @Nested
-    @DisplayName("Tests for verifyRole()")
-    class VerifyRoleTests {
-
-        @Test
-        @DisplayName("Should return true when association exists")
-        void verifyRole_True() {
-            when(userRoleRepository.existsByUserIdAndRoleName(USER_ID, ROLE_ADMIN))
-                .thenReturn(true);
-
-            boolean result = roleService.verifyRole(USER_ID, ROLE_ADMIN);
-
-            assertThat(result).isTrue();
-        }
-
-        @Test
-        @DisplayName("Should return false when association does not exist")
-        void verifyRole_False() {
-            when(userRoleRepository.existsByUserIdAndRoleName(USER_ID, ROLE_ADMIN))
-                .thenReturn(false);
-
-            boolean result = roleService.verifyRole(USER_ID, ROLE_ADMIN);
-
-            assertThat(result).isFalse();
-        }
-    }
-
     @Nested
     @DisplayName("Tests for associateRole()")
     class AssociateRoleTests {
@@ -93,6 +70,8 @@ class RoleServiceTest {
             roleService.associateRole(USER_ID, ROLE_ADMIN);
 
             verify(userRoleRepository).save(any(UserRole.class));
+            verify(userRepository).incrementTokenVersion(USER_ID);
+            verify(eventPublisher).publishEvent(new UserRolesChangedEvent(USER_ID));
         }
 
         @Test
@@ -151,6 +130,8 @@ class RoleServiceTest {
             roleService.unlinkRole(USER_ID, ROLE_ADMIN);
 
             verify(userRoleRepository).deleteByUserIdAndRoleName(USER_ID, ROLE_ADMIN);
+            verify(userRepository).incrementTokenVersion(USER_ID);
+            verify(eventPublisher).publishEvent(new UserRolesChangedEvent(USER_ID));
         }
 
         @Test
@@ -164,6 +145,7 @@ class RoleServiceTest {
                 .hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
 
             verify(userRoleRepository, never()).deleteByUserIdAndRoleName(any(), any());
+            verify(eventPublisher, never()).publishEvent(any());
         }
     }
 }
\ No newline at end of file
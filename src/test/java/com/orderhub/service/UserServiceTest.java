@@ -53,14 +53,8 @@ class UserServiceTest {
         void create_Success() {
             Register request = new Register(VALID_USERNAME, VALID_EMAIL, STRONG_PASSWORD);
             
-            when(userRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.empty());
             when(passwordEncoder.encode(STRONG_PASSWORD)).thenReturn(ENCODED_PASSWORD);
-            // Mock do save retornando o usuário com ID gerado
-            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-                User user = invocation.getArgument(0);
-                user.setId(UUID.randomUUID());
-                return user;
-            });
+            when(userRepository.insertIfAbsent(any(), any(), any(), any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
 
             User createdUser = userService.create(request);
 
@@ -68,8 +62,9 @@ class UserServiceTest {
             assertThat(createdUser.getUsername()).isEqualTo(VALID_USERNAME);
             assertThat(createdUser.getEmail()).isEqualTo(VALID_EMAIL);
             assertThat(createdUser.getPasswordHash()).isEqualTo(ENCODED_PASSWORD);
+            assertThat(createdUser.getId()).isNotNull();
 
-            verify(userRepository).save(any(User.class));
+            verify(userRepository).insertIfAbsent(createdUser.getId(), VALID_USERNAME, VALID_EMAIL, ENCODED_PASSWORD);
         }
 
         @Test
@@ -77,14 +72,13 @@ class UserServiceTest {
         void create_EmailAlreadyExists() {
             Register request = new Register(VALID_USERNAME, VALID_EMAIL, STRONG_PASSWORD);
             
-            when(userRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(new User()));
+            when(passwordEncoder.encode(STRONG_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+            when(userRepository.insertIfAbsent(any(), any(), any(), any())).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> userService.create(request))
                 .isInstanceOf(AppException.class)
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.USR_ALREADY_EXISTS)
                 .hasFieldOrPropertyWithValue("status", HttpStatus.CONFLICT);
-
-            verify(userRepository, never()).save(any());
         }
 
         @Test
@@ -94,15 +88,13 @@ class UserServiceTest {
             String weakPass = "WeakPass123"; 
             Register request = new Register(VALID_USERNAME, VALID_EMAIL, weakPass);
 
-            when(userRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.empty());
-
             assertThatThrownBy(() -> userService.create(request))
                 .isInstanceOf(AppException.class)
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.WEAK_PASSWORD)
                 .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
 
             verify(passwordEncoder, never()).encode(any());
-            verify(userRepository, never()).save(any());
+            verify(userRepository, never()).insertIfAbsent(any(), any(), any(), any());
         }
     }
 
@@ -0,0 +1,55 @@
+package com.orderhub.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should round-trip NUMERIC(12,2) values through minor units")
+    void of_RoundTrip() {
+        Money money = Money.of(new BigDecimal("1234.50"));
+
+        assertThat(money.minorUnits()).isEqualTo(123_450L);
+        assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("1234.50"));
+        assertThat(Money.of(BigDecimal.valueOf(7)).toBigDecimal()).isEqualTo(new BigDecimal("7.00"));
+    }
+
+    @Test
+    @DisplayName("Should match BigDecimal arithmetic for line item subtotals and totals")
+    void arithmetic_MatchesBigDecimal() {
+        BigDecimal price = new BigDecimal("19.99");
+
+        Money total = Money.of(price).times(3).plus(Money.of(new BigDecimal("0.03")));
+
+        assertThat(total.toBigDecimal())
+            .isEqualTo(price.multiply(BigDecimal.valueOf(3)).add(new BigDecimal("0.03")));
+        assertThat(total.isPositive()).isTrue();
+        assertThat(Money.ZERO.isPositive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject prices with more than two decimal places")
+    void of_RejectsFinerScale() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.125")))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail instead of overflowing past NUMERIC(12,2)")
+    void arithmetic_Overflow() {
+        Money almostMax = new Money(Money.MAX_MINOR_UNITS);
+
+        assertThatThrownBy(() -> almostMax.plus(new Money(1)))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("5000000000.00")).times(2))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new Money(1).times(Integer.MAX_VALUE).times(Integer.MAX_VALUE))
+            .isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.orderhub.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Should produce RFC 9562 version 7 ids")
+    void generate_VersionAndVariant() {
+        UUID id = UuidV7.generate();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should embed the current unix time in milliseconds")
+    void generate_Timestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        /* The counter may carry into the timestamp under heavy bursts, allow a small skew */
+        assertThat(UuidV7.timestampMillis(id)).isBetween(before, after + 50);
+    }
+
+    @Test
+    @DisplayName("Should be strictly increasing and unique when generated in a burst")
+    void generate_Monotonic() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            ids.add(UuidV7.generate());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+        }
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+}